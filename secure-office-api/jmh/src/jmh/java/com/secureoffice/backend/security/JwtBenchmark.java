@@ -0,0 +1,96 @@
+package com.secureoffice.backend.security;
+
+import com.secureoffice.backend.users.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * İstek başına JWT maliyeti: token üretimi, doğrulama (cache'ten ve tam imza kontrolüyle)
+ * ve JwtAuthenticationFilter'ın tüm yolu (header -> doğrulama -> iptal kontrolü -> SecurityContext).
+ */
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "bench-secret-bench-secret-bench-secret-12";
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 30, 10_000, Clock.systemUTC());
+        filter = new JwtAuthenticationFilter(jwtService,
+                new TokenRevocationList(emptyRepository(), 30, 10_000, 0, Clock.systemUTC()),
+                noUsers(), new SimpleMeterRegistry());
+        user = new AuthenticatedUser(1L, "bench@user.com", Set.of("ROLE_USER"));
+        token = jwtService.createAccessToken(user);
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtService.createAccessToken(user);
+    }
+
+    // Cache'te olan token: imza kontrolü yok
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    // İlk kez görülen token: tam parse + HMAC doğrulama
+    @Benchmark
+    public Claims verifyUncached() {
+        jwtService.forget(token);
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterPerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tickets");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    // İptal listesi boş: findLive boş liste, deleteExpired 0 döner
+    private static TokenRevocationRepository emptyRepository() {
+        return (TokenRevocationRepository) Proxy.newProxyInstance(
+                TokenRevocationRepository.class.getClassLoader(),
+                new Class<?>[]{TokenRevocationRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == List.class) return List.of();
+                    if (method.getReturnType() == int.class) return 0;
+                    return null;
+                });
+    }
+
+    // Token'da uid ve roller var: filtre kullanıcıya hiç bakmaz; bakarsa bulamaz
+    private static UserRepository noUsers() {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> method.getReturnType() == Optional.class ? Optional.empty() : null);
+    }
+}
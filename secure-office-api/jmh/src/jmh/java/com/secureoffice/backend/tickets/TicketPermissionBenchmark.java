@@ -0,0 +1,47 @@
+package com.secureoffice.backend.tickets;
+
+import com.secureoffice.backend.security.AuthenticatedUser;
+import com.secureoffice.backend.users.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+
+/**
+ * TicketService'in her yazma işleminde yaptığı yetki kontrolleri (isAdmin + oluşturan/atanan karşılaştırması).
+ */
+@State(Scope.Benchmark)
+public class TicketPermissionBenchmark {
+
+    private Ticket ticket;
+    private AuthenticatedUser[] users;
+
+    @Setup
+    public void setUp() {
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        ticket = new Ticket();
+        ticket.setCreatedBy(TicketSerializationBenchmark.user(1L, "Ayse", "Yilmaz", role));
+        ticket.setAssignedTo(TicketSerializationBenchmark.user(2L, "Mehmet", "Kaya", role));
+
+        users = new AuthenticatedUser[]{
+                new AuthenticatedUser(99L, "admin@user.com", Set.of(AuthenticatedUser.ROLE_ADMIN)),
+                new AuthenticatedUser(1L, "ayse@user.com", Set.of("ROLE_USER")),
+                new AuthenticatedUser(2L, "mehmet@user.com", Set.of("ROLE_USER")),
+                new AuthenticatedUser(3L, "ali@user.com", Set.of("ROLE_USER"))
+        };
+    }
+
+    // update/updateStatus (canEdit) ve delete/devretme (canManage); admin, oluşturan, atanan ve yetkisiz kullanıcı
+    @Benchmark
+    public int canEditAndManage() {
+        int allowed = 0;
+        for (AuthenticatedUser u : users) {
+            if (TicketPermissions.canEdit(ticket, u.getId(), u.isAdmin())) allowed++;
+            if (TicketPermissions.canManage(ticket, u.getId(), u.isAdmin())) allowed++;
+        }
+        return allowed;
+    }
+}
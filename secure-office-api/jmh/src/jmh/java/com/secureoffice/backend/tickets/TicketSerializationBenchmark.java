@@ -0,0 +1,82 @@
+package com.secureoffice.backend.tickets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureoffice.backend.dto.response.TicketSummaryResponse;
+import com.secureoffice.backend.projects.Project;
+import com.secureoffice.backend.users.Role;
+import com.secureoffice.backend.users.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ticket listesi JSON maliyeti: entity grafı (User/Role/Project ile) ve API'nin döndüğü TicketSummaryResponse.
+ */
+@State(Scope.Benchmark)
+public class TicketSerializationBenchmark {
+
+    @Param({"20", "200"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Ticket> tickets;
+    private List<TicketSummaryResponse> summaries;
+
+    @Setup
+    public void setUp() {
+        // Spring MVC'nin kullandığıyla aynı ayarlar (JavaTimeModule vb.)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        User owner = user(1L, "Ayse", "Yilmaz", role);
+        User worker = user(2L, "Mehmet", "Kaya", role);
+        Project project = new Project();
+        project.setId(10L);
+        project.setName("Mobil Uygulama");
+        project.setDescription("React Native istemcisi");
+
+        tickets = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Ticket t = new Ticket();
+            t.setTitle("Ticket " + i);
+            t.setDescription("Giriş ekranında hata mesajı yanlış gösteriliyor #" + i);
+            t.setStatus(TicketStatus.values()[i % TicketStatus.values().length]);
+            t.setPriority(TicketPriority.values()[i % TicketPriority.values().length]);
+            t.setCreatedBy(owner);
+            t.setAssignedTo(i % 2 == 0 ? worker : null);
+            t.setProject(project);
+            t.onCreate();
+            tickets.add(t);
+            summaries.add(TicketSummaryResponse.from(t));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEntityGraph() throws Exception {
+        return objectMapper.writeValueAsBytes(tickets);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    static User user(Long id, String firstName, String lastName, Role role) {
+        User u = new User();
+        u.setId(id);
+        u.setEmail(firstName.toLowerCase() + "@user.com");
+        u.setFirstName(firstName);
+        u.setLastName(lastName);
+        u.setRoles(Set.of(role));
+        return u;
+    }
+}
@@ -0,0 +1,71 @@
+package com.secureoffice.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Ayağa kalkmış API'ye JSON istekleri. Thread-safe; tüm sanal kullanıcılar aynı bağlantı havuzunu paylaşır.
+ */
+final class ApiClient {
+
+    record Response(int status, String body, long nanos) {
+        boolean ok() {
+            return status >= 200 && status < 400;
+        }
+    }
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    ApiClient(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    Response send(String method, String path, String accessToken, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (accessToken != null) request.header("Authorization", "Bearer " + accessToken);
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            long start = System.nanoTime();
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body(), System.nanoTime() - start);
+        } catch (IOException e) {
+            // Bağlantı hatası: status 0 olarak sayılır
+            return new Response(0, e.toString(), 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, "interrupted", 0);
+        }
+    }
+
+    /** Kurulum adımları için: 2xx/3xx değilse ölçüme başlamadan durur. */
+    JsonNode expectJson(String method, String path, String accessToken, Object body) {
+        Response response = send(method, path, accessToken, body);
+        if (!response.ok()) {
+            throw new IllegalStateException(method + " " + path + " -> " + response.status() + ": " + response.body());
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException(method + " " + path + " cevabı okunamadı", e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.secureoffice.backend.loadtest;
+
+import java.util.Map;
+
+/**
+ * Yük karışımındaki uçlar ve varsayılan ağırlıkları (okuma ağırlıklı, gerçek kullanıma yakın).
+ * Ağırlıklar -Ploadtest.mix=tickets.get=30,projects.board=10 ile değiştirilebilir.
+ */
+enum Endpoint {
+
+    TICKETS_LIST("tickets.list", 15) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("GET", "/api/v1/tickets?limit=50", u.accessToken(), null);
+        }
+    },
+    TICKETS_MINE("tickets.mine", 15) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("GET", "/api/v1/tickets/mine?limit=50", u.accessToken(), null);
+        }
+    },
+    TICKETS_PROJECT("tickets.project", 10) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("GET", "/api/v1/tickets/project/" + u.anyProject() + "?limit=50", u.accessToken(), null);
+        }
+    },
+    TICKETS_GET("tickets.get", 15) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("GET", "/api/v1/tickets/" + u.anyTicket(), u.accessToken(), null);
+        }
+    },
+    TICKETS_COMMENTS("tickets.comments", 5) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("GET", "/api/v1/tickets/" + u.anyTicket() + "/comments", u.accessToken(), null);
+        }
+    },
+    TICKETS_CREATE("tickets.create", 5) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("POST", "/api/v1/tickets", u.accessToken(), Map.of(
+                    "title", "Yuk ticket'i", "description", "Olcum sirasinda olusturuldu",
+                    "priority", "MEDIUM", "projectId", u.anyProject()));
+        }
+    },
+    TICKETS_STATUS("tickets.status", 5) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("PATCH", "/api/v1/tickets/" + u.ownTicket() + "/status", u.accessToken(),
+                    Map.of("status", u.anyStatus()));
+        }
+    },
+    TICKETS_COMMENT("tickets.comment", 5) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("POST", "/api/v1/tickets/" + u.anyTicket() + "/comments", u.accessToken(),
+                    Map.of("text", "Yuk testi yorumu"));
+        }
+    },
+    PROJECTS_LIST("projects.list", 5) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("GET", "/api/v1/projects", u.accessToken(), null);
+        }
+    },
+    PROJECTS_GET("projects.get", 5) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("GET", "/api/v1/projects/" + u.anyProject(), u.accessToken(), null);
+        }
+    },
+    PROJECTS_BOARD("projects.board", 10) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("GET", "/api/v1/projects/" + u.anyProject() + "/board", u.accessToken(), null);
+        }
+    },
+    AUTH_ME("auth.me", 3) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return api.send("GET", "/api/v1/auth/me", u.accessToken(), null);
+        }
+    },
+    // BCrypt: ağırlığı düşük tutulur, yoksa ölçüm şifre hash havuzunu ölçer
+    AUTH_LOGIN("auth.login", 1) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return u.login(api);
+        }
+    },
+    AUTH_REFRESH("auth.refresh", 1) {
+        ApiClient.Response call(ApiClient api, VirtualUser u) {
+            return u.refresh(api);
+        }
+    };
+
+    final String key;
+    final int defaultWeight;
+
+    Endpoint(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    abstract ApiClient.Response call(ApiClient api, VirtualUser user);
+
+    static Endpoint byKey(String key) {
+        for (Endpoint e : values()) {
+            if (e.key.equals(key)) return e;
+        }
+        throw new IllegalArgumentException("Bilinmeyen endpoint: " + key);
+    }
+}
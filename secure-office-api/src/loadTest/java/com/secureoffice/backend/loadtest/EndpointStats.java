@@ -0,0 +1,58 @@
+package com.secureoffice.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tek endpoint'in gecikme kayıtları. Her istemci thread'i kendi örneğine yazar (kilit yok),
+ * ölçüm bitince merge ile birleştirilir.
+ */
+final class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    private final Map<Integer, Integer> errorStatuses = new TreeMap<>();
+
+    void record(long nanos, int status) {
+        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+        latencies[count++] = nanos;
+        if (status >= 400 || status == 0) {
+            errors++;
+            errorStatuses.merge(status, 1, Integer::sum);
+        }
+    }
+
+    void merge(EndpointStats other) {
+        for (int i = 0; i < other.count; i++) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, Math.max(count * 2, 1024));
+            latencies[count++] = other.latencies[i];
+        }
+        errors += other.errors;
+        other.errorStatuses.forEach((status, n) -> errorStatuses.merge(status, n, Integer::sum));
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    Map<Integer, Integer> errorStatuses() {
+        return errorStatuses;
+    }
+
+    /** p (0-100) yüzdelik dilimi, milisaniye. Çağrıdan önce sort() edilmiş olmalı. */
+    double percentileMillis(double p) {
+        if (count == 0) return 0;
+        int index = (int) Math.ceil(p / 100.0 * count) - 1;
+        return latencies[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    void sort() {
+        Arrays.sort(latencies, 0, count);
+    }
+}
@@ -0,0 +1,162 @@
+package com.secureoffice.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.secureoffice.backend.SecureOfficeApiApplication;
+import com.secureoffice.backend.users.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uçtan uca yük testi: uygulamayı H2 (PostgreSQL modu) ile açar, API üzerinden veri kurar, her istemci
+ * kendi kullanıcısıyla giriş yapar ve karışık istekleri eşzamanlı gönderir. Endpoint başına throughput ve
+ * p50/p95/p99 yazdırılır; bir endpoint'in p99'u bütçeyi ya da hata oranı sınırı aşarsa çıkış kodu 1.
+ *
+ * ./gradlew loadTest -Ploadtest.clients=64 -Ploadtest.duration-seconds=60 -Ploadtest.p99-budget-ms=200
+ * İstek thread modu karşılaştırması: aynı ayarlarla -Ploadtest.virtual-threads=true ve =false (virtual için Java 21;
+ * daha eski JVM'de Spring ayarı yok sayar, ölçülen mod çıktıda ve raporda yazar).
+ */
+public final class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        boolean passed;
+        SpringApplicationBuilder app = new SpringApplicationBuilder(SecureOfficeApiApplication.class).profiles("loadtest");
+        if (config.virtualThreads() != null) {
+            app.properties("spring.threads.virtual.enabled=" + config.virtualThreads());
+        }
+        try (ConfigurableApplicationContext context = app.run(args)) {
+            String threads = Threading.VIRTUAL.isActive(context.getEnvironment()) ? "virtual" : "platform";
+            if (Boolean.TRUE.equals(config.virtualThreads()) && threads.equals("platform")) {
+                log.warn("Java {}: virtual thread yok, istekler platform thread'lerde ölçülüyor", Runtime.version().feature());
+            }
+            log.info("İstek thread'leri: {}", threads);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ApiClient api = new ApiClient(port);
+
+            log.info("Veri kuruluyor: {} kullanıcı, {} proje, proje başına {} ticket",
+                    config.users(), config.projects(), config.ticketsPerProject());
+            SeedData data = SeedData.create(api, context.getBean(RoleRepository.class),
+                    context.getEnvironment().getProperty("app.security.admin-secret-key"), config);
+
+            log.info("Ölçüm: {} istemci, {} sn ısınma + {} sn", config.clients(),
+                    config.warmupSeconds(), config.durationSeconds());
+            Map<Endpoint, EndpointStats> results = drive(api, data, config);
+            passed = report(results, config, threads);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static Map<Endpoint, EndpointStats> drive(ApiClient api, SeedData data, LoadTestConfig config)
+            throws InterruptedException {
+        Endpoint[] wheel = config.wheel();
+        long warmupUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long stopAt = warmupUntil + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        List<VirtualUser> clients = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < config.clients(); i++) {
+            VirtualUser client = new VirtualUser(data.users.get(i % data.users.size()), data, i);
+            Thread t = new Thread(() -> {
+                try {
+                    client.run(api, wheel, warmupUntil, stopAt);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "loadtest-client-" + i);
+            clients.add(client);
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) t.join();
+        if (failure.get() != null) throw new IllegalStateException("İstemci hatası", failure.get());
+
+        Map<Endpoint, EndpointStats> merged = new EnumMap<>(Endpoint.class);
+        for (VirtualUser client : clients) {
+            client.stats().forEach((endpoint, stats) ->
+                    merged.computeIfAbsent(endpoint, e -> new EndpointStats()).merge(stats));
+        }
+        merged.values().forEach(EndpointStats::sort);
+        return merged;
+    }
+
+    private static boolean report(Map<Endpoint, EndpointStats> results, LoadTestConfig config, String threads)
+            throws Exception {
+        double seconds = config.durationSeconds();
+        List<String> violations = new ArrayList<>();
+        Map<String, Object> json = new LinkedHashMap<>();
+        long totalRequests = 0;
+
+        System.out.printf("%nİstek thread'leri: %s, %d istemci%n", threads, config.clients());
+        System.out.printf("%-18s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "istek", "hata", "istek/sn", "p50 ms", "p95 ms", "p99 ms", "max ms", "bütçe");
+        for (Map.Entry<Endpoint, EndpointStats> entry : results.entrySet()) {
+            Endpoint endpoint = entry.getKey();
+            EndpointStats s = entry.getValue();
+            double p99 = s.percentileMillis(99);
+            double budget = config.budgetFor(endpoint);
+            double errorRate = s.count() == 0 ? 0 : (double) s.errors() / s.count();
+            totalRequests += s.count();
+
+            System.out.printf("%-18s %9d %7d %10.1f %9.1f %9.1f %9.1f %9.1f %9.0f%n",
+                    endpoint.key, s.count(), s.errors(), s.count() / seconds,
+                    s.percentileMillis(50), s.percentileMillis(95), p99, s.percentileMillis(100), budget);
+
+            if (p99 > budget) {
+                violations.add(String.format("%s p99 %.1f ms > bütçe %.0f ms", endpoint.key, p99, budget));
+            }
+            if (errorRate > config.maxErrorRate()) {
+                violations.add(String.format("%s hata oranı %.2f%% > %.2f%% %s", endpoint.key, errorRate * 100,
+                        config.maxErrorRate() * 100, s.errorStatuses()));
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", s.count());
+            row.put("errors", s.errors());
+            row.put("throughput", s.count() / seconds);
+            row.put("p50Ms", s.percentileMillis(50));
+            row.put("p95Ms", s.percentileMillis(95));
+            row.put("p99Ms", p99);
+            row.put("maxMs", s.percentileMillis(100));
+            row.put("budgetMs", budget);
+            json.put(endpoint.key, row);
+        }
+        System.out.printf("%-18s %9d %7s %10.1f%n%n", "toplam", totalRequests, "", totalRequests / seconds);
+
+        if (config.reportFile() != null) {
+            File file = new File(config.reportFile());
+            file.getParentFile().mkdirs();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("threads", threads);
+            report.put("clients", config.clients());
+            report.put("durationSeconds", config.durationSeconds());
+            report.put("throughput", totalRequests / seconds);
+            report.put("endpoints", json);
+            report.put("violations", violations);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+            System.out.println("Rapor: " + file.getAbsolutePath());
+        }
+
+        violations.forEach(v -> System.out.println("BÜTÇE AŞILDI: " + v));
+        return violations.isEmpty();
+    }
+}
@@ -0,0 +1,69 @@
+package com.secureoffice.backend.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Yük testi ayarları: system property'lerden okunur (Gradle -Ploadtest.x=y değerlerini aynen geçirir).
+ *
+ * @param budgetsMs endpoint başına p99 bütçesi (ms); listede olmayanlar p99BudgetMs'e tabi
+ * @param virtualThreads spring.threads.virtual.enabled değeri; null -> uygulamanın varsayılanı
+ */
+record LoadTestConfig(int clients, int warmupSeconds, int durationSeconds,
+                      int users, int projects, int ticketsPerProject,
+                      double p99BudgetMs, Map<Endpoint, Double> budgetsMs,
+                      double maxErrorRate, Map<Endpoint, Integer> mix, Boolean virtualThreads,
+                      String reportFile) {
+
+    static LoadTestConfig fromSystemProperties() {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        String mixSpec = System.getProperty("loadtest.mix", "");
+        if (mixSpec.isBlank()) {
+            for (Endpoint e : Endpoint.values()) mix.put(e, e.defaultWeight);
+        } else {
+            for (String part : mixSpec.split(",")) {
+                String[] kv = part.trim().split("=");
+                mix.put(Endpoint.byKey(kv[0].trim()), Integer.parseInt(kv[1].trim()));
+            }
+        }
+
+        // Varsayılan bütçeler: giriş BCrypt yüzünden diğerlerinden pahalı
+        Map<Endpoint, Double> budgets = new EnumMap<>(Endpoint.class);
+        budgets.put(Endpoint.AUTH_LOGIN, 1000.0);
+        for (Endpoint e : Endpoint.values()) {
+            String value = System.getProperty("loadtest.budget." + e.key);
+            if (value != null) budgets.put(e, Double.parseDouble(value));
+        }
+
+        String virtualThreads = System.getProperty("loadtest.virtual-threads");
+        return new LoadTestConfig(
+                intProperty("loadtest.clients", 32),
+                intProperty("loadtest.warmup-seconds", 5),
+                intProperty("loadtest.duration-seconds", 30),
+                intProperty("loadtest.users", 20),
+                intProperty("loadtest.projects", 5),
+                intProperty("loadtest.tickets-per-project", 1000),
+                Double.parseDouble(System.getProperty("loadtest.p99-budget-ms", "250")),
+                budgets,
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01")),
+                mix,
+                virtualThreads == null ? null : Boolean.valueOf(virtualThreads),
+                System.getProperty("loadtest.report-file"));
+    }
+
+    double budgetFor(Endpoint endpoint) {
+        return budgetsMs.getOrDefault(endpoint, p99BudgetMs);
+    }
+
+    /** Ağırlık kadar tekrar eden endpoint dizisi: rastgele indeks seçmek ağırlıklı seçim olur. */
+    Endpoint[] wheel() {
+        return mix.entrySet().stream()
+                .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toArray(Endpoint[]::new);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, Integer.toString(defaultValue)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.secureoffice.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.secureoffice.backend.users.Role;
+import com.secureoffice.backend.users.RoleRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Ölçümden önce API üzerinden kurulan veri: kullanıcılar (ilki admin), projeler ve ticket'lar.
+ * Ticket'lar toplu uçtan (POST /api/v1/tickets/batch) eklenir; her kullanıcının oluşturdukları ayrıca tutulur
+ * ki statü değişikliği 403'e takılmasın.
+ */
+final class SeedData {
+
+    static final String PASSWORD = "Sifre123!";
+    private static final int BATCH_SIZE = 500;
+
+    record SeedUser(long id, String email, String accessToken, List<Long> createdTickets) {
+    }
+
+    final List<SeedUser> users = new ArrayList<>();
+    final List<Long> projectIds = new ArrayList<>();
+    final List<Long> ticketIds = new ArrayList<>();
+
+    static SeedData create(ApiClient api, RoleRepository roleRepository, String adminKey, LoadTestConfig config) {
+        // Roller uygulamada kayıtla oluşturulmuyor (prod'da elle eklenir)
+        for (String name : new String[]{"ROLE_USER", "ROLE_ADMIN"}) {
+            if (roleRepository.findByName(name).isEmpty()) {
+                Role role = new Role();
+                role.setName(name);
+                roleRepository.save(role);
+            }
+        }
+
+        SeedData data = new SeedData();
+        for (int i = 0; i < config.users(); i++) {
+            String email = "load-" + i + "@user.com";
+            JsonNode tokens = api.expectJson("POST", "/api/v1/auth/register", null, Map.of(
+                    "email", email, "password", PASSWORD, "firstName", "Yuk", "lastName", "Test " + i,
+                    "role", i == 0 ? "ADMIN" : "USER", "adminKey", adminKey));
+            String access = tokens.get("accessToken").asText();
+            long id = api.expectJson("GET", "/api/v1/auth/me", access, null).get("id").asLong();
+            data.users.add(new SeedUser(id, email, access, new ArrayList<>()));
+        }
+
+        String adminToken = data.users.get(0).accessToken();
+        for (int p = 0; p < config.projects(); p++) {
+            JsonNode project = api.expectJson("POST", "/api/v1/projects", adminToken,
+                    Map.of("name", "Yuk Projesi " + p, "description", "Yuk testi"));
+            data.projectIds.add(project.get("id").asLong());
+        }
+
+        // Batch'ler kullanıcılara sırayla dağıtılır: herkesin kendi oluşturduğu ticket'ları olsun
+        long total = (long) config.ticketsPerProject() * config.projects();
+        int chunk = (int) Math.max(1, Math.min(BATCH_SIZE, (total + config.users() - 1) / config.users()));
+        Random random = new Random(42);
+        String[] priorities = {"LOW", "MEDIUM", "HIGH"};
+        int batch = 0;
+        for (long projectId : data.projectIds) {
+            for (int done = 0; done < config.ticketsPerProject(); done += chunk) {
+                SeedUser creator = data.users.get(batch++ % data.users.size());
+                List<Map<String, Object>> operations = new ArrayList<>();
+                for (int i = done; i < Math.min(done + chunk, config.ticketsPerProject()); i++) {
+                    SeedUser assignee = data.users.get(random.nextInt(data.users.size()));
+                    operations.add(Map.of("op", "CREATE", "title", "Ticket " + projectId + "-" + i,
+                            "description", "Yuk testi icin olusturuldu", "priority", priorities[i % priorities.length],
+                            "projectId", projectId, "assignedToUserId", assignee.id()));
+                }
+                JsonNode result = api.expectJson("POST", "/api/v1/tickets/batch", creator.accessToken(),
+                        Map.of("operations", operations));
+                for (JsonNode item : result.get("results")) {
+                    if (!item.get("success").asBoolean()) {
+                        throw new IllegalStateException("Ticket oluşturulamadı: " + item);
+                    }
+                    long ticketId = item.get("ticketId").asLong();
+                    data.ticketIds.add(ticketId);
+                    creator.createdTickets().add(ticketId);
+                }
+            }
+        }
+        return data;
+    }
+}
@@ -0,0 +1,102 @@
+package com.secureoffice.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Tek istemci: kendi token çifti ve kendi gecikme kayıtları ile, istekleri arka arkaya (kapalı döngü) gönderir.
+ */
+final class VirtualUser {
+
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "DONE"};
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final SeedData.SeedUser account;
+    private final SeedData data;
+    private final SplittableRandom random;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private String accessToken;
+    private String refreshToken;
+
+    VirtualUser(SeedData.SeedUser account, SeedData data, long seed) {
+        this.account = account;
+        this.data = data;
+        this.random = new SplittableRandom(seed);
+    }
+
+    void run(ApiClient api, Endpoint[] wheel, long warmupUntil, long stopAt) {
+        if (!login(api).ok()) throw new IllegalStateException("Giriş yapılamadı: " + account.email());
+        long now;
+        while ((now = System.nanoTime()) < stopAt) {
+            Endpoint endpoint = wheel[random.nextInt(wheel.length)];
+            ApiClient.Response response = endpoint.call(api, this);
+            if (now >= warmupUntil) {
+                stats.computeIfAbsent(endpoint, e -> new EndpointStats()).record(response.nanos(), response.status());
+            }
+        }
+    }
+
+    Map<Endpoint, EndpointStats> stats() {
+        return stats;
+    }
+
+    String accessToken() {
+        return accessToken;
+    }
+
+    long anyProject() {
+        return pick(data.projectIds);
+    }
+
+    long anyTicket() {
+        return pick(data.ticketIds);
+    }
+
+    // Statü değişikliği için: oluşturan değişikliğe yetkili (kendi ticket'ı yoksa herhangi biri, 403 sayılır)
+    long ownTicket() {
+        return account.createdTickets().isEmpty() ? anyTicket() : pick(account.createdTickets());
+    }
+
+    String anyStatus() {
+        return STATUSES[random.nextInt(STATUSES.length)];
+    }
+
+    ApiClient.Response login(ApiClient api) {
+        ApiClient.Response response = api.send("POST", "/api/v1/auth/login", null,
+                Map.of("email", account.email(), "password", SeedData.PASSWORD));
+        if (response.ok()) remember(response);
+        return response;
+    }
+
+    // Refresh token her kullanımda döner: yenisi saklanır, olmazsa tekrar giriş yapılır
+    ApiClient.Response refresh(ApiClient api) {
+        ApiClient.Response response = api.send("POST", "/api/v1/auth/refresh", null,
+                Map.of("refreshToken", refreshToken));
+        if (response.ok()) {
+            remember(response);
+        } else {
+            login(api);
+        }
+        return response;
+    }
+
+    private void remember(ApiClient.Response response) {
+        try {
+            JsonNode tokens = JSON.readTree(response.body());
+            accessToken = tokens.get("accessToken").asText();
+            refreshToken = tokens.get("refreshToken").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("Token cevabı okunamadı", e);
+        }
+    }
+
+    private long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
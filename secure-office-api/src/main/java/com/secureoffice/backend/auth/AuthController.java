@@ -1,12 +1,15 @@
 package com.secureoffice.backend.auth;
 
 import com.secureoffice.backend.dto.request.AuthRequest;
+import com.secureoffice.backend.dto.request.RefreshTokenRequest;
 import com.secureoffice.backend.dto.request.RegisterRequest;
 import com.secureoffice.backend.dto.response.AuthResponse;
 import com.secureoffice.backend.dto.response.User_Response;
 import com.secureoffice.backend.users.User;
 import com.secureoffice.backend.users.UserRepository;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -35,6 +38,22 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(req));
     }
 
+    // Süresi dolan access token'ı şifresiz yeniler; cevaptaki yeni refresh token saklanmalı
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest req) {
+        return ResponseEntity.ok(authService.refresh(req.getRefreshToken()));
+    }
+
+    // Gövdede refresh token, header'da access token (ikisi de isteğe bağlı)
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestBody(required = false) RefreshTokenRequest req,
+                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7).trim() : null;
+        authService.logout(req != null ? req.getRefreshToken() : null, accessToken);
+    }
+
     // GÜVENLİK GÜNCELLEMESİ: Artık User entity değil, UserResponse dönüyoruz.
     @GetMapping("/me")
     public ResponseEntity<User_Response> getMe(Authentication authentication) {
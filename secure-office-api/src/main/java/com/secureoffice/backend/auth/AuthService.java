@@ -3,34 +3,56 @@ package com.secureoffice.backend.auth;
 import com.secureoffice.backend.dto.request.AuthRequest;
 import com.secureoffice.backend.dto.request.RegisterRequest;
 import com.secureoffice.backend.dto.response.AuthResponse;
+import com.secureoffice.backend.security.AuthenticatedUser;
 import com.secureoffice.backend.security.JwtService;
+import com.secureoffice.backend.security.PasswordHashingExecutor;
+import com.secureoffice.backend.security.TokenRevocationList;
 import com.secureoffice.backend.users.Role;
 import com.secureoffice.backend.users.RoleRepository;
 import com.secureoffice.backend.users.User;
 import com.secureoffice.backend.users.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHasher;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList revocationList;
     private final String adminSecretKey;
+    private final Counter loginSuccess;
+    private final Counter loginFailure;
 
     public AuthService(UserRepository userRepository,
                        RoleRepository roleRepository,
-                       PasswordEncoder passwordEncoder,
+                       PasswordHashingExecutor passwordHasher,
                        JwtService jwtService,
-                       @Value("${app.security.admin-secret-key}") String adminSecretKey) {
+                       RefreshTokenService refreshTokenService,
+                       TokenRevocationList revocationList,
+                       @Value("${app.security.admin-secret-key}") String adminSecretKey,
+                       MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.revocationList = revocationList;
         this.adminSecretKey = adminSecretKey;
+        // Başarısız girişlerdeki artış (ör. parola denemesi) ayrıca izlenebilsin
+        this.loginSuccess = Counter.builder("auth.logins").tag("result", "success").register(meterRegistry);
+        this.loginFailure = Counter.builder("auth.logins").tag("result", "failure").register(meterRegistry);
     }
 
     public AuthResponse register(RegisterRequest req) {
@@ -40,7 +62,7 @@ public class AuthService {
 
         User user = new User();
         user.setEmail(req.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(req.getPassword())); // Şifreyi Hashliyoruz!
+        user.setPasswordHash(passwordHasher.encode(req.getPassword())); // Şifreyi Hashliyoruz! (ayrı havuzda)
         user.setFirstName(req.getFirstName());
         user.setLastName(req.getLastName());
 
@@ -61,25 +83,68 @@ public class AuthService {
         user.getRoles().add(userRole);
         userRepository.save(user);
 
-        String token = jwtService.createAccessToken(user.getEmail());
-        return new AuthResponse(token);
+        return tokensFor(user);
     }
 
     public AuthResponse login(AuthRequest req) {
-        System.out.println("Login Denemesi -> Email: " + req.getEmail());
+        // System.out yerine logger: PrintStream kilidi virtual thread'i carrier'a sabitleyebilir
+        log.debug("Login denemesi -> Email: {}", req.getEmail());
 
-        User user = userRepository.findByEmailIgnoreCase(req.getEmail())
-                .orElseThrow(() -> new IllegalArgumentException("Kullanıcı Bulunamadı"));
+        User user = userRepository.findByEmailIgnoreCase(req.getEmail()).orElse(null);
+        if (user == null) {
+            loginFailure.increment();
+            throw new IllegalArgumentException("Kullanıcı Bulunamadı");
+        }
 
         // Şifre kontrolü
-        boolean isMatch = passwordEncoder.matches(req.getPassword(), user.getPasswordHash());
-        System.out.println("Şifre Eşleşti mi? : " + isMatch);
+        boolean isMatch = passwordHasher.matches(req.getPassword(), user.getPasswordHash());
+        log.debug("Şifre eşleşti mi? : {}", isMatch);
 
         if (!isMatch) {
+            loginFailure.increment();
             throw new IllegalArgumentException("Şifre Yanlış!");
         }
+        loginSuccess.increment();
+
+        // BCrypt cost değiştiyse şifre elimizdeyken yeni cost ile yeniden hash'le.
+        // En iyi çaba: havuz doluysa giriş 429 almaz, yeniden hash bir sonraki girişe kalır
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            try {
+                user.setPasswordHash(passwordHasher.encode(req.getPassword()));
+                userRepository.save(user);
+            } catch (PasswordHashingExecutor.HashingBusyException e) {
+                log.info("Hash havuzu dolu, {} için yeniden hash atlandı", user.getEmail());
+            }
+        }
+
+        return tokensFor(user);
+    }
+
+    // Şifre yerine refresh token: BCrypt yok, token döndürülür (eskisi bir daha kullanılamaz)
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        String access = jwtService.createAccessToken(AuthenticatedUser.of(rotation.user()));
+        return new AuthResponse(access, rotation.refreshToken());
+    }
+
+    // Çıkış: refresh token ailesi ve (gönderildiyse) mevcut access token iptal edilir
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken != null && !accessToken.isBlank()) {
+            try {
+                Claims claims = jwtService.verify(accessToken);
+                revocationList.revokeToken(claims);
+                jwtService.forget(accessToken);
+            } catch (JwtException | IllegalArgumentException e) {
+                // Zaten geçersiz token: iptal edecek bir şey yok
+            }
+        }
+    }
 
-        String token = jwtService.createAccessToken(user.getEmail());
-        return new AuthResponse(token);
+    private AuthResponse tokensFor(User user) {
+        String access = jwtService.createAccessToken(AuthenticatedUser.of(user));
+        return new AuthResponse(access, refreshTokenService.issue(user));
     }
-}
\ No newline at end of file
+}
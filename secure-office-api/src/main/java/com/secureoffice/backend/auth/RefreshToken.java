@@ -0,0 +1,62 @@
+package com.secureoffice.backend.auth;
+
+import com.secureoffice.backend.users.User;
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Refresh token kaydı. Ham token saklanmaz, sadece SHA-256 özeti (veritabanı sızsa da token kullanılamaz).
+ * Her kullanımda yenisiyle değiştirilir (rotation); aynı girişten türeyenler aynı familyId'yi taşır.
+ * İptal edilmiş bir token tekrar gelirse (çalınmış olabilir) tüm aile iptal edilir.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    // Döndürüldü, çıkış yapıldı veya aile iptal edildi
+    @Column(name = "revoked_at")
+    private OffsetDateTime revokedAt;
+
+    protected RefreshToken() {
+    }
+
+    public RefreshToken(String tokenHash, String familyId, User user, OffsetDateTime createdAt, OffsetDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.user = user;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() { return id; }
+    public String getTokenHash() { return tokenHash; }
+    public String getFamilyId() { return familyId; }
+    public User getUser() { return user; }
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public OffsetDateTime getExpiresAt() { return expiresAt; }
+    public OffsetDateTime getRevokedAt() { return revokedAt; }
+}
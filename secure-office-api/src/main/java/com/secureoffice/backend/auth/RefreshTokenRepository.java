@@ -0,0 +1,34 @@
+package com.secureoffice.backend.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Yeni access token için kullanıcı ve rolleri de lazım (roller EAGER + 2. seviye cache)
+    @Query("select t from RefreshToken t join fetch t.user where t.tokenHash = :hash")
+    Optional<RefreshToken> findByTokenHash(@Param("hash") String hash);
+
+    // Koşullu: aynı token'la eşzamanlı iki istekten sadece biri 1 alır
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.id = :id and t.revokedAt is null")
+    int revokeIfActive(@Param("id") Long id, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Girişte kullanıcının süresi dolmuş token'ları temizlenir (ayrı zamanlanmış iş gerekmez)
+    @Modifying
+    @Query("delete from RefreshToken t where t.user.id = :userId and t.expiresAt <= :now")
+    int deleteExpiredForUser(@Param("userId") Long userId, @Param("now") OffsetDateTime now);
+}
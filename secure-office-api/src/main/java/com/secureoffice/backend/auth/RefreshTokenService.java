@@ -0,0 +1,119 @@
+package com.secureoffice.backend.auth;
+
+import com.secureoffice.backend.users.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opak refresh token'lar: 256 bit rastgele değer, veritabanında SHA-256 özetiyle tutulur.
+ * Yenileme BCrypt'e gitmez; tek indeksli arama + koşullu UPDATE + INSERT.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${app.jwt.refresh-days:14}") long refreshDays) {
+        this(refreshTokenRepository, Duration.ofDays(refreshDays), Clock.systemUTC());
+    }
+
+    RefreshTokenService(RefreshTokenRepository refreshTokenRepository, Duration ttl, Clock clock) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    // Giriş/kayıt: yeni bir aile başlatır
+    @Transactional
+    public String issue(User user) {
+        refreshTokenRepository.deleteExpiredForUser(user.getId(), now());
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Token'ı tüketip aynı aileden yenisini verir.
+     * Daha önce kullanılmış (iptal edilmiş) token gelirse tekrar kullanım sayılır ve tüm aile iptal edilir;
+     * bu iptal, hata dönse de commit edilmeli.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = find(rawToken);
+        OffsetDateTime now = now();
+        if (current.getRevokedAt() != null) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw invalid();
+        }
+        if (!current.getExpiresAt().isAfter(now)) throw invalid();
+        // Aynı token'la eşzamanlı ikinci istek: aileyi öldürmeden reddet (istemci tekrar denemesi olabilir)
+        if (refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) throw invalid();
+        return new Rotation(current.getUser(), issue(current.getUser(), current.getFamilyId()));
+    }
+
+    // Çıkış: bu girişten türeyen tüm refresh token'lar geçersiz
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(t -> refreshTokenRepository.revokeFamily(t.getFamilyId(), now()));
+    }
+
+    @Transactional
+    public void deleteForUser(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        OffsetDateTime now = now();
+        refreshTokenRepository.save(new RefreshToken(hash(raw), familyId, user, now, now.plus(ttl)));
+        return raw;
+    }
+
+    private RefreshToken find(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) throw invalid();
+        return refreshTokenRepository.findByTokenHash(hash(rawToken)).orElseThrow(RefreshTokenService::invalid);
+    }
+
+    private OffsetDateTime now() {
+        return OffsetDateTime.now(clock);
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Geçersiz veya süresi dolmuş refresh token");
+    }
+
+    static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
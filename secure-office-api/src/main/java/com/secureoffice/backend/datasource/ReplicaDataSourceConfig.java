@@ -0,0 +1,88 @@
+package com.secureoffice.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * app.datasource.replica.urls doluysa tek DataSource bean'i primary + replica'lar arasında yönlendiren proxy olur;
+ * boşsa bu sınıf devreye girmez, Boot'un tek havuzu kullanılır.
+ * Havuzlar bean değil: QueryStatsConfig yalnız dıştaki DataSource'u sarar (SQL'ler bir kez sayılır).
+ * Hikari metrikleri bu yüzden havuz başına burada bağlanır (pool=primary, replica-1, ...).
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    ReplicaPools replicaPools(DataSourceProperties properties,
+                              Environment environment,
+                              ObjectProvider<MeterRegistry> meterRegistry,
+                              @Value("${app.datasource.replica.urls}") String[] urls,
+                              @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+                              @Value("${app.datasource.replica.max-lag-seconds:5}") double maxLagSeconds,
+                              @Value("${app.datasource.replica.check-interval-ms:2000}") long checkIntervalMillis,
+                              @Value("${app.datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMillis) {
+        Binder binder = Binder.get(environment);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+
+        HikariDataSource primary = pool(properties, binder, registry, "primary", properties.determineUrl());
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<String> replicaUrls = Arrays.stream(urls).map(String::trim).filter(u -> !u.isEmpty()).toList();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = pool(properties, binder, registry, "replica-" + (i + 1), replicaUrls.get(i));
+            // Kapalı replica açılışı durdurmaz, bağlantı beklerken isteği de uzun süre tutmaz
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            replicas.add(replica);
+        }
+
+        ReplicaPools pools = new ReplicaPools(primary, replicas, lagQuery, maxLagSeconds, checkIntervalMillis);
+        if (registry != null) pools.bindTo(registry);
+        return pools;
+    }
+
+    @Bean
+    DataSource dataSource(ReplicaPools pools) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(pools));
+    }
+
+    // Spring varsayılanı bağlantıyı session kapanana kadar tutar; open-in-view ile bu, isteğin ilk transaction'ının
+    // bağlantısı (ör. replica) sonraki yazma transaction'ında da kullanılır demek. Her transaction kendi bağlantısını alsın
+    @Bean
+    HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Replica'lar primary'nin kullanıcı adı/şifresi ve spring.datasource.hikari.* ayarlarıyla açılır
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, MeterRegistry registry,
+                                         String name, String url) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        if (registry != null) pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return pool;
+    }
+}
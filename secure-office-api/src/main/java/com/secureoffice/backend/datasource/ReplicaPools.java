@@ -0,0 +1,175 @@
+package com.secureoffice.backend.datasource;
+
+import com.secureoffice.backend.security.AuthenticatedUser;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Primary ve replica Hikari havuzları, replica sağlık durumu ve yakın zamanda yazan kullanıcılar.
+ * - Replica'lar check-interval aralıkla yoklanır: bağlanılamayan veya gecikmesi max-lag'i aşan replica
+ *   sıradaki kontrole kadar kullanılmaz; bağlantı alınamazsa da hemen devre dışı kalır
+ * - Yazan kullanıcı, commit'ten sonra max-lag + check-interval boyunca primary'den okur (read-your-writes);
+ *   bu süre kontrol edilen en kötü replica gecikmesini karşılar; kullanıcısı bilinmeyen okumalar hep primary'den
+ */
+public class ReplicaPools implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPools.class);
+
+    static final class Replica {
+        private final HikariDataSource pool;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        String name() {
+            return pool.getPoolName();
+        }
+
+        boolean isAvailable() {
+            return available;
+        }
+
+        Connection getConnection() throws SQLException {
+            return pool.getConnection();
+        }
+
+        // Havuzdaki bağlantılar da atılır: replica geri geldiğinde kopmuş bağlantılar okumalara verilmesin
+        void markDown(Exception e) {
+            if (available) log.warn("Replica {} devre dışı, okumalar primary'ye gidiyor: {}", name(), e.getMessage());
+            available = false;
+            lagSeconds = Double.NaN;
+            HikariPoolMXBean mx = pool.getHikariPoolMXBean();
+            if (mx != null) mx.softEvictConnections();
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long stickyNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    // Kullanıcı id -> primary'den okuyacağı son an (System.nanoTime)
+    private final ConcurrentHashMap<Long, Long> recentWriters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService checker;
+
+    ReplicaPools(HikariDataSource primary, List<HikariDataSource> replicas, String lagQuery,
+                 double maxLagSeconds, long checkIntervalMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(Math.round(maxLagSeconds * 1000) + checkIntervalMillis);
+        // İlk kontrol açılışta: sağlığı bilinmeyen replica'ya okuma gönderilmez
+        checkReplicas();
+        if (checkIntervalMillis > 0) {
+            this.checker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "replica-health");
+                t.setDaemon(true);
+                return t;
+            });
+            this.checker.scheduleWithFixedDelay(this::checkReplicas, checkIntervalMillis, checkIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.checker = null;
+        }
+    }
+
+    HikariDataSource primary() {
+        return primary;
+    }
+
+    // Sıradaki replica'dan başlayarak (round-robin) kullanılabilir olanları dener
+    List<Replica> replicasInOrder() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (start == 0) return replicas;
+        List<Replica> ordered = new ArrayList<>(replicas.size());
+        ordered.addAll(replicas.subList(start, replicas.size()));
+        ordered.addAll(replicas.subList(0, start));
+        return ordered;
+    }
+
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection con = replica.getConnection()) {
+                double lag = lagQuery.isBlank() ? 0 : queryLag(con);
+                boolean healthy = lag <= maxLagSeconds;
+                if (healthy != replica.available) {
+                    if (healthy) log.info("Replica {} kullanımda (gecikme {} sn)", replica.name(), lag);
+                    else log.warn("Replica {} {} sn geride, okumalar primary'ye gidiyor", replica.name(), lag);
+                }
+                replica.lagSeconds = lag;
+                replica.available = healthy;
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> until - now < 0);
+    }
+
+    private double queryLag(Connection con) throws SQLException {
+        try (Statement st = con.createStatement(); ResultSet rs = st.executeQuery(lagQuery)) {
+            return rs.next() ? rs.getDouble(1) : 0;
+        }
+    }
+
+    // --- Read-your-writes ---
+
+    static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthenticatedUser user ? user.getId() : null;
+    }
+
+    void markWrite(Long userId) {
+        if (userId != null) recentWriters.put(userId, System.nanoTime() + stickyNanos);
+    }
+
+    boolean wroteRecently(Long userId) {
+        if (userId == null) return false;
+        Long until = recentWriters.get(userId);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Replica okumalara açık mı (1) yoksa primary'ye mi düşülüyor (0)")
+                    .tag("replica", replica.name())
+                    .register(registry);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Son kontrolde ölçülen replica gecikmesi")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (checker != null) checker.shutdownNow();
+        for (Replica replica : replicas) replica.pool.close();
+        primary.close();
+    }
+}
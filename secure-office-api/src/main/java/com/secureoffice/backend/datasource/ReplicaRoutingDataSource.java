@@ -0,0 +1,64 @@
+package com.secureoffice.backend.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * readOnly transaction'ların bağlantısını sağlıklı bir replica'dan, diğer her şeyinkini primary'den verir.
+ * Karar bağlantı istendiği an transaction bilgisine göre verildiği için LazyConnectionDataSourceProxy
+ * arkasında kullanılır: fiziksel bağlantı ilk SQL'de alınır, readOnly bayrağı o an bellidir.
+ * Repository okumaları (Spring Data varsayılanı readOnly) dışarıdaki transaction'a katılırsa onun modunda kalır.
+ * Token'lı kullanıcısı olmayan okumalar (kayıt/giriş, arka plan işleri) da primary'den: kimin yazdığı
+ * bilinmediği için read-your-writes sağlanamaz (ör. kayıttan hemen sonraki giriş kullanıcıyı bulamazdı).
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaPools pools;
+
+    ReplicaRoutingDataSource(ReplicaPools pools) {
+        this.pools = pools;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markWriterOnCommit();
+            return pools.primary().getConnection();
+        }
+        Long userId = ReplicaPools.currentUserId();
+        if (userId == null || pools.wroteRecently(userId)) {
+            return pools.primary().getConnection();
+        }
+        for (ReplicaPools.Replica replica : pools.replicasInOrder()) {
+            if (!replica.isAvailable()) continue;
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        return pools.primary().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return pools.primary().getConnection(username, password);
+    }
+
+    // Commit'ten sonra bu kullanıcının okumaları bir süre primary'den: replica'lar henüz yetişmemiş olabilir
+    private void markWriterOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        Long userId = ReplicaPools.currentUserId();
+        if (userId == null) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) pools.markWrite(userId);
+            }
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.secureoffice.backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Toplu işlemdeki tek bir kalem.
+ * CREATE: title (zorunlu), description, priority, projectId, assignedToUserId
+ * UPDATE_STATUS: ticketId, status
+ * REASSIGN: ticketId, assignedToUserId
+ */
+public class BatchTicketOperation {
+
+    public enum Type { CREATE, UPDATE_STATUS, REASSIGN }
+
+    @NotNull(message = "İşlem tipi (op) boş olamaz")
+    private Type op;
+
+    private Long ticketId;
+    private String title;
+    private String description;
+    private String priority;
+    private Long projectId;
+    private Long assignedToUserId;
+    private String status;
+
+    public Type getOp() { return op; }
+    public void setOp(Type op) { this.op = op; }
+
+    public Long getTicketId() { return ticketId; }
+    public void setTicketId(Long ticketId) { this.ticketId = ticketId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Long getAssignedToUserId() { return assignedToUserId; }
+    public void setAssignedToUserId(Long assignedToUserId) { this.assignedToUserId = assignedToUserId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
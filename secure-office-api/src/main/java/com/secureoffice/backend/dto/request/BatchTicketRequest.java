@@ -0,0 +1,17 @@
+package com.secureoffice.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchTicketRequest {
+    @NotEmpty(message = "En az bir işlem gönderilmeli")
+    @Size(max = 1000, message = "Tek istekte en fazla 1000 işlem gönderilebilir")
+    @Valid
+    private List<BatchTicketOperation> operations;
+
+    public List<BatchTicketOperation> getOperations() { return operations; }
+    public void setOperations(List<BatchTicketOperation> operations) { this.operations = operations; }
+}
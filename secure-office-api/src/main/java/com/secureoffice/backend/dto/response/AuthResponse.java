@@ -2,11 +2,21 @@ package com.secureoffice.backend.dto.response;
 
 public class AuthResponse {
     private String accessToken;
+    // Opak; POST /api/v1/auth/refresh ile yeni access token alınır, her kullanımda yenisi döner
+    private String refreshToken;
 
     public AuthResponse(String accessToken) {
         this.accessToken = accessToken;
     }
 
+    public AuthResponse(String accessToken, String refreshToken) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+
     public String getAccessToken() { return accessToken; }
     public void setAccessToken(String accessToken) { this.accessToken = accessToken; }
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.secureoffice.backend.dto.response;
+
+import java.util.List;
+
+public class BatchTicketResponse {
+    private List<BatchItemResult> results;
+    private int succeeded;
+    private int failed;
+
+    public BatchTicketResponse(List<BatchItemResult> results) {
+        this.results = results;
+        this.succeeded = (int) results.stream().filter(BatchItemResult::isSuccess).count();
+        this.failed = results.size() - succeeded;
+    }
+
+    public List<BatchItemResult> getResults() { return results; }
+    public void setResults(List<BatchItemResult> results) { this.results = results; }
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    // İstekteki sırayla (index) birebir eşleşen kalem sonucu
+    public static class BatchItemResult {
+        private int index;
+        private boolean success;
+        private int status;
+        private Long ticketId;
+        private String error;
+
+        public static BatchItemResult ok(int index, int status, Long ticketId) {
+            BatchItemResult r = new BatchItemResult();
+            r.index = index;
+            r.success = true;
+            r.status = status;
+            r.ticketId = ticketId;
+            return r;
+        }
+
+        public static BatchItemResult failed(int index, int status, Long ticketId, String error) {
+            BatchItemResult r = new BatchItemResult();
+            r.index = index;
+            r.status = status;
+            r.ticketId = ticketId;
+            r.error = error;
+            return r;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+        public int getStatus() { return status; }
+        public void setStatus(int status) { this.status = status; }
+        public Long getTicketId() { return ticketId; }
+        public void setTicketId(Long ticketId) { this.ticketId = ticketId; }
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
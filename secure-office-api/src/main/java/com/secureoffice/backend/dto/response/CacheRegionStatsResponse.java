@@ -0,0 +1,34 @@
+package com.secureoffice.backend.dto.response;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+// Bir cache bölgesinin sayaçları; hitRatio = hits / (hits + misses), hiç erişim yoksa 0
+public class CacheRegionStatsResponse {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long size;
+    private double hitRatio;
+
+    public CacheRegionStatsResponse(String region, long hits, long misses, long puts, long size) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.size = size;
+        this.hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    public static CacheRegionStatsResponse from(String region, CacheRegionStatistics s) {
+        return new CacheRegionStatsResponse(region, s.getHitCount(), s.getMissCount(), s.getPutCount(),
+                s.getElementCountInMemory());
+    }
+
+    public String getRegion() { return region; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getPuts() { return puts; }
+    public long getSize() { return size; }
+    public double getHitRatio() { return hitRatio; }
+}
@@ -0,0 +1,41 @@
+package com.secureoffice.backend.dto.response;
+
+import com.secureoffice.backend.tickets.Comment;
+
+import java.time.LocalDateTime;
+
+// Yorum okuma modeli: yazar sadece id + ad (rolleri/şifre hash'i vs. yüklenmez)
+public class CommentResponse {
+    private Long id;
+    private String text;
+    private LocalDateTime createdAt;
+    private UserSummaryResponse createdBy;
+
+    // JSON'dan okuma (outbox olayları) için
+    public CommentResponse() {
+    }
+
+    // CommentRepository.COMMENT_SELECT bu sırayı kullanır
+    public CommentResponse(Long id, String text, LocalDateTime createdAt,
+                           Long createdById, String createdByFirstName, String createdByLastName) {
+        this.id = id;
+        this.text = text;
+        this.createdAt = createdAt;
+        this.createdBy = UserSummaryResponse.of(createdById, createdByFirstName, createdByLastName);
+    }
+
+    public static CommentResponse from(Comment c) {
+        CommentResponse r = new CommentResponse(c.getId(), c.getText(), c.getCreatedAt(), null, null, null);
+        r.setCreatedBy(UserSummaryResponse.from(c.getCreatedBy()));
+        return r;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public UserSummaryResponse getCreatedBy() { return createdBy; }
+    public void setCreatedBy(UserSummaryResponse createdBy) { this.createdBy = createdBy; }
+}
@@ -0,0 +1,41 @@
+package com.secureoffice.backend.dto.response;
+
+// Şifre hash havuzunun anlık durumu ve açılıştan beri süre istatistikleri
+public class PasswordHashingStatsResponse {
+    private int threads;
+    private int active;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private int bcryptStrength;
+    private double avgMillis;
+    private double maxMillis;
+    private double lastMillis;
+
+    public PasswordHashingStatsResponse(int threads, int active, int queueDepth, int queueCapacity,
+                                        long completed, long rejected, int bcryptStrength,
+                                        double avgMillis, double maxMillis, double lastMillis) {
+        this.threads = threads;
+        this.active = active;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.bcryptStrength = bcryptStrength;
+        this.avgMillis = avgMillis;
+        this.maxMillis = maxMillis;
+        this.lastMillis = lastMillis;
+    }
+
+    public int getThreads() { return threads; }
+    public int getActive() { return active; }
+    public int getQueueDepth() { return queueDepth; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public long getCompleted() { return completed; }
+    public long getRejected() { return rejected; }
+    public int getBcryptStrength() { return bcryptStrength; }
+    public double getAvgMillis() { return avgMillis; }
+    public double getMaxMillis() { return maxMillis; }
+    public double getLastMillis() { return lastMillis; }
+}
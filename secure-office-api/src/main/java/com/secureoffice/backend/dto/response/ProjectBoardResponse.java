@@ -0,0 +1,58 @@
+package com.secureoffice.backend.dto.response;
+
+import com.secureoffice.backend.tickets.TicketStatus;
+
+import java.util.List;
+
+// Kanban ekranı: proje başlığı + durum kolonları + kartlarda geçen kullanıcılar
+public class ProjectBoardResponse {
+    private Long projectId;
+    private String name;
+    private String description;
+    private List<BoardColumn> columns;
+    private List<UserSummaryResponse> users;
+
+    public ProjectBoardResponse(Long projectId, String name, String description,
+                                List<BoardColumn> columns, List<UserSummaryResponse> users) {
+        this.projectId = projectId;
+        this.name = name;
+        this.description = description;
+        this.columns = columns;
+        this.users = users;
+    }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public List<BoardColumn> getColumns() { return columns; }
+    public void setColumns(List<BoardColumn> columns) { this.columns = columns; }
+    public List<UserSummaryResponse> getUsers() { return users; }
+    public void setUsers(List<UserSummaryResponse> users) { this.users = users; }
+
+    // count kolonun toplamıdır; items ilk N kart, kalanı nextCursor ile okunur
+    public static class BoardColumn {
+        private TicketStatus status;
+        private long count;
+        private List<TicketSummaryResponse> items;
+        private String nextCursor;
+
+        public BoardColumn(TicketStatus status, long count, List<TicketSummaryResponse> items, String nextCursor) {
+            this.status = status;
+            this.count = count;
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public TicketStatus getStatus() { return status; }
+        public void setStatus(TicketStatus status) { this.status = status; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+        public List<TicketSummaryResponse> getItems() { return items; }
+        public void setItems(List<TicketSummaryResponse> items) { this.items = items; }
+        public String getNextCursor() { return nextCursor; }
+        public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    }
+}
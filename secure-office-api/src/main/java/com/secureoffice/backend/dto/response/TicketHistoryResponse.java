@@ -0,0 +1,37 @@
+package com.secureoffice.backend.dto.response;
+
+import java.time.LocalDateTime;
+
+// Ticket geçmişi kaydı: hangi alan, eski/yeni değer, kim ve ne zaman
+public class TicketHistoryResponse {
+    private Long id;
+    private String field;
+    private String oldValue;
+    private String newValue;
+    private LocalDateTime changedAt;
+    private UserSummaryResponse changedBy;
+
+    // TicketHistoryRepository.HISTORY_SELECT bu sırayı kullanır
+    public TicketHistoryResponse(Long id, String field, String oldValue, String newValue, LocalDateTime changedAt,
+                                 Long changedById, String changedByFirstName, String changedByLastName) {
+        this.id = id;
+        this.field = field;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.changedAt = changedAt;
+        this.changedBy = UserSummaryResponse.of(changedById, changedByFirstName, changedByLastName);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getField() { return field; }
+    public void setField(String field) { this.field = field; }
+    public String getOldValue() { return oldValue; }
+    public void setOldValue(String oldValue) { this.oldValue = oldValue; }
+    public String getNewValue() { return newValue; }
+    public void setNewValue(String newValue) { this.newValue = newValue; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+    public UserSummaryResponse getChangedBy() { return changedBy; }
+    public void setChangedBy(UserSummaryResponse changedBy) { this.changedBy = changedBy; }
+}
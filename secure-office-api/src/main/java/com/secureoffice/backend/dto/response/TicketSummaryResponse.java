@@ -0,0 +1,95 @@
+package com.secureoffice.backend.dto.response;
+
+import com.secureoffice.backend.projects.Project;
+import com.secureoffice.backend.tickets.Ticket;
+import com.secureoffice.backend.tickets.TicketPriority;
+import com.secureoffice.backend.tickets.TicketStatus;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Ticket okuma modeli. Liste sorguları bunu JPQL constructor expression ile tek SQL'de doldurur,
+ * böylece User/Role/Project entity'leri hiç yüklenmez.
+ */
+public class TicketSummaryResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private TicketStatus status;
+    private TicketPriority priority;
+    private Long projectId;
+    private String projectName;
+    private UserSummaryResponse createdBy;
+    private UserSummaryResponse assignedTo;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+    private int commentCount;
+    private OffsetDateTime lastCommentAt;
+
+    // JSON'dan okuma (outbox olayları) için
+    public TicketSummaryResponse() {
+    }
+
+    // TicketRepository.SUMMARY_SELECT bu sırayı kullanır
+    public TicketSummaryResponse(Long id, String title, String description,
+                                 TicketStatus status, TicketPriority priority,
+                                 Long projectId, String projectName,
+                                 Long createdById, String createdByFirstName, String createdByLastName,
+                                 Long assignedToId, String assignedToFirstName, String assignedToLastName,
+                                 OffsetDateTime createdAt, OffsetDateTime updatedAt,
+                                 int commentCount, OffsetDateTime lastCommentAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.createdBy = UserSummaryResponse.of(createdById, createdByFirstName, createdByLastName);
+        this.assignedTo = UserSummaryResponse.of(assignedToId, assignedToFirstName, assignedToLastName);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.commentCount = commentCount;
+        this.lastCommentAt = lastCommentAt;
+    }
+
+    // Yazma işlemlerinden dönen entity -> DTO
+    public static TicketSummaryResponse from(Ticket t) {
+        Project p = t.getProject();
+        TicketSummaryResponse r = new TicketSummaryResponse(t.getId(), t.getTitle(), t.getDescription(),
+                t.getStatus(), t.getPriority(),
+                p != null ? p.getId() : null, p != null ? p.getName() : null,
+                null, null, null, null, null, null,
+                t.getCreatedAt(), t.getUpdatedAt(), t.getCommentCount(), t.getLastCommentAt());
+        r.setCreatedBy(UserSummaryResponse.from(t.getCreatedBy()));
+        r.setAssignedTo(UserSummaryResponse.from(t.getAssignedTo()));
+        return r;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public TicketStatus getStatus() { return status; }
+    public void setStatus(TicketStatus status) { this.status = status; }
+    public TicketPriority getPriority() { return priority; }
+    public void setPriority(TicketPriority priority) { this.priority = priority; }
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    public String getProjectName() { return projectName; }
+    public void setProjectName(String projectName) { this.projectName = projectName; }
+    public UserSummaryResponse getCreatedBy() { return createdBy; }
+    public void setCreatedBy(UserSummaryResponse createdBy) { this.createdBy = createdBy; }
+    public UserSummaryResponse getAssignedTo() { return assignedTo; }
+    public void setAssignedTo(UserSummaryResponse assignedTo) { this.assignedTo = assignedTo; }
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public int getCommentCount() { return commentCount; }
+    public void setCommentCount(int commentCount) { this.commentCount = commentCount; }
+    public OffsetDateTime getLastCommentAt() { return lastCommentAt; }
+    public void setLastCommentAt(OffsetDateTime lastCommentAt) { this.lastCommentAt = lastCommentAt; }
+}
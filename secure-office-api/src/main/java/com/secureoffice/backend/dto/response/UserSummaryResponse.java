@@ -0,0 +1,36 @@
+package com.secureoffice.backend.dto.response;
+
+import com.secureoffice.backend.users.User;
+
+// Listelerde kullanıcının sadece id ve görünen adı taşınır (roller, email vs. yok)
+public class UserSummaryResponse {
+    private Long id;
+    private String firstName;
+    private String lastName;
+
+    // JSON'dan okuma (outbox olayları) için
+    public UserSummaryResponse() {
+    }
+
+    public UserSummaryResponse(Long id, String firstName, String lastName) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    // Left join'den gelen boş kullanıcı -> null
+    public static UserSummaryResponse of(Long id, String firstName, String lastName) {
+        return id == null ? null : new UserSummaryResponse(id, firstName, lastName);
+    }
+
+    public static UserSummaryResponse from(User user) {
+        return user == null ? null : new UserSummaryResponse(user.getId(), user.getFirstName(), user.getLastName());
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+}
@@ -0,0 +1,271 @@
+package com.secureoffice.backend.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outbox'ı arka planda boşaltıp olayları {@link TicketEventSubscriber}'lara dağıtır.
+ * - Tek thread: aynı ticket'ın olayları ticket_seq (= commit) sırasıyla teslim edilir
+ * - Tüm abonelere ulaşan olay silinir. Hata alan abone olayı artan beklemeyle (poll-interval'dan başlayıp
+ *   MAX_BACKOFF'a kadar ikiye katlanarak) tekrar alır; olayı almış diğer aboneler tekrar almaz. O süre boyunca
+ *   aynı ticket'ın sonraki olayları bekler (en az bir kez, sıra korunur). Olay atılmaz; ALERT_ATTEMPTS'ten sonra
+ *   her hata ERROR olarak loglanır.
+ * - Tek instance: aboneler (arama index'i, SSE yayıncısı) süreç içidir ve teslim edilen satır silinir; ikinci bir
+ *   instance olayların bir kısmını alır, kendi aboneleri diğerlerini hiç görmez. Bu yüzden dağıtım outbox_lease
+ *   kaydına bağlıdır: açılışta kayıt alınamazsa (başka canlı instance) en fazla lease süresi beklenir, sonra uygulama
+ *   açılmaz. Kayıt her lease süresinin üçte birinde yenilenir; kaybedilirse dağıtım durur ve ERROR loglanır.
+ *   Çok instance'lı kurulum için önce abonelerin paylaşımlı hale getirilmesi (veya instance başına teslim) gerekir.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    static final int ALERT_ATTEMPTS = 10;
+    static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    static final String LEASE_NAME = "ticket-outbox";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxLeaseRepository leaseRepository;
+    private final List<TicketEventSubscriber> subscribers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final Duration leaseDuration;
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName() + "/"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "outbox-dispatcher");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private volatile boolean started;
+    // Yalnız dağıtıcı thread'inden (ve açılış/kapanışta) değişir
+    private volatile boolean leaseHeld;
+    private long leaseRenewedAt;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            OutboxLeaseRepository leaseRepository,
+                            List<TicketEventSubscriber> subscribers,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.outbox.batch-size:500}") int batchSize,
+                            @Value("${app.outbox.poll-interval-ms:1000}") long pollIntervalMillis,
+                            @Value("${app.outbox.lease-seconds:30}") long leaseSeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.leaseRepository = leaseRepository;
+        this.subscribers = subscribers;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+    }
+
+    // Açılışta kalan (önceki çalışmadan teslim edilmemiş) olaylar da ilk turda gider.
+    // Çökmüş önceki çalışmanın kaydı süresi dolunca devralınır; canlı başka bir instance varsa açılış başarısız olur
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long deadline = System.nanoTime() + leaseDuration.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (!tryAcquireLease()) {
+            if (System.nanoTime() > deadline) {
+                OutboxLease holder = leaseRepository.findById(LEASE_NAME).orElse(null);
+                throw new IllegalStateException("Outbox dağıtımı başka bir instance'ta ("
+                        + (holder == null ? "?" : holder.getOwner() + ", " + holder.getExpiresAt())
+                        + "): bu uygulama tek instance çalışmalı");
+            }
+            try {
+                Thread.sleep(Math.min(1000, leaseDuration.toMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Outbox kaydı beklenirken kesildi", e);
+            }
+        }
+        log.info("Outbox dağıtımı bu instance'ta: {}", instanceId);
+        started = true;
+        executor.scheduleWithFixedDelay(this::drain, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Commit sonrası çağrılır; zaten bekleyen bir uyandırma varsa yenisi eklenmez
+    public void wakeUp() {
+        if (!started || !wakeUpPending.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            wakeUpPending.set(false); // Kapanıyoruz
+        }
+    }
+
+    // Kayıt bırakılır: yeni sürüm lease süresini beklemeden açılabilsin
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            if (leaseHeld) tx.executeWithoutResult(status -> leaseRepository.release(LEASE_NAME, instanceId));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Outbox kaydı bırakılamadı, süresi dolunca devralınacak: {}", e.toString());
+        }
+    }
+
+    private void drain() {
+        try {
+            if (!renewLeaseIfDue()) return;
+            // Tam dolu ve tamamen teslim edilmiş tur -> arkada daha olabilir
+            while (drainOnce() == batchSize && renewLeaseIfDue()) {
+                // devam
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox dağıtımı başarısız, sonraki turda tekrar denenecek", e);
+        }
+    }
+
+    int drainOnce() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OutboxEvent> batch = tx.execute(status -> outboxEventRepository.findNextBatch(now, Limit.of(batchSize)));
+        if (batch == null || batch.isEmpty()) return 0;
+
+        List<Long> done = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        List<String> failedDeliveredTo = new ArrayList<>();
+        Set<Long> blockedTickets = new HashSet<>();
+        for (OutboxEvent row : batch) {
+            // Aynı ticket'ın önceki olayı teslim edilemediyse sıra bozulmasın diye bu da bekler
+            if (blockedTickets.contains(row.getTicketId())) continue;
+            Set<String> deliveredTo = deliveredTo(row);
+            if (deliver(row, deliveredTo)) {
+                done.add(row.getId());
+            } else {
+                failed.add(row);
+                failedDeliveredTo.add(String.join(",", deliveredTo));
+                blockedTickets.add(row.getTicketId());
+            }
+        }
+
+        tx.executeWithoutResult(status -> {
+            if (!done.isEmpty()) outboxEventRepository.deleteByIdIn(done);
+            for (int i = 0; i < failed.size(); i++) {
+                OutboxEvent row = failed.get(i);
+                int attempts = row.getAttempts() + 1;
+                outboxEventRepository.recordFailure(row.getId(), now.plus(backoff(attempts)), failedDeliveredTo.get(i));
+                if (attempts >= ALERT_ATTEMPTS) {
+                    log.error("Outbox olayı {} ({} / ticket {}) {} denemedir teslim edilemiyor; ticket'ın sonraki olayları bekliyor",
+                            row.getId(), row.getEventType(), row.getTicketId(), attempts);
+                }
+            }
+        });
+        return done.size();
+    }
+
+    // Lease süresinin üçte biri geçtiyse yenile; kayıt bizde değilse false (dağıtım yapılmaz)
+    private boolean renewLeaseIfDue() {
+        if (leaseHeld && System.nanoTime() - leaseRenewedAt < leaseDuration.toNanos() / 3) return true;
+        boolean wasHeld = leaseHeld;
+        if (tryAcquireLease()) {
+            if (!wasHeld) log.warn("Outbox kaydı yeniden alındı, dağıtım devam ediyor");
+            return true;
+        }
+        if (wasHeld) log.error("Outbox kaydı başka bir instance'a geçti; bu instance olay dağıtmayı bıraktı");
+        return false;
+    }
+
+    boolean tryAcquireLease() {
+        OffsetDateTime now = OffsetDateTime.now();
+        long renewedAt = System.nanoTime();
+        boolean held;
+        try {
+            held = Boolean.TRUE.equals(tx.execute(status ->
+                    leaseRepository.renewOrTakeOver(LEASE_NAME, instanceId, now, now.plus(leaseDuration)) == 1));
+            if (!held && !leaseRepository.existsById(LEASE_NAME)) {
+                // İlk çalışma: kayıt yok. Aynı anda ekleyen diğer instance kazanır (primary key)
+                tx.executeWithoutResult(status ->
+                        leaseRepository.insert(LEASE_NAME, instanceId, now.plus(leaseDuration)));
+                held = true;
+            }
+        } catch (DataIntegrityViolationException e) {
+            held = false;
+        }
+        leaseHeld = held;
+        if (held) leaseRenewedAt = renewedAt;
+        return held;
+    }
+
+    // 1., 2., 3. hata -> poll-interval x 1, 2, 4 ... en fazla MAX_BACKOFF
+    Duration backoff(int attempts) {
+        long millis = pollIntervalMillis << Math.min(attempts - 1, 20);
+        return millis > MAX_BACKOFF.toMillis() ? MAX_BACKOFF : Duration.ofMillis(millis);
+    }
+
+    // Olayı almış aboneler deliveredTo'ya eklenir; hepsi aldıysa true
+    private boolean deliver(OutboxEvent row, Set<String> deliveredTo) {
+        TicketEvent event;
+        try {
+            event = objectMapper.readValue(row.getPayload(), TicketEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error("Outbox olayı {} okunamadı, atılıyor", row.getId(), e);
+            return true;
+        }
+        boolean all = true;
+        for (TicketEventSubscriber subscriber : subscribers) {
+            String name = subscriberName(subscriber);
+            if (deliveredTo.contains(name)) continue;
+            try {
+                subscriber.onTicketEvent(event);
+                deliveredTo.add(name);
+            } catch (RuntimeException e) {
+                log.warn("Olay {} aboneye teslim edilemedi ({}): {}", row.getId(), name, e.toString());
+                all = false;
+            }
+        }
+        return all;
+    }
+
+    private static Set<String> deliveredTo(OutboxEvent row) {
+        Set<String> names = new LinkedHashSet<>();
+        if (row.getDeliveredTo() != null && !row.getDeliveredTo().isEmpty()) {
+            names.addAll(Arrays.asList(row.getDeliveredTo().split(",")));
+        }
+        return names;
+    }
+
+    // Proxy'lenmiş abonede de aynı ad
+    private static String subscriberName(TicketEventSubscriber subscriber) {
+        return ClassUtils.getUserClass(subscriber).getSimpleName();
+    }
+}
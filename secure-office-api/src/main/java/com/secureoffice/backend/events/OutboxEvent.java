@@ -0,0 +1,75 @@
+package com.secureoffice.backend.events;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Transactional outbox satırı: ticket yazımıyla aynı transaction'da eklenir,
+ * {@link OutboxDispatcher} teslim ettikten sonra siler.
+ */
+@Entity
+@Table(name = "ticket_outbox", indexes = {
+        // Dağıtım sırası (OutboxEventRepository.findNextBatch)
+        @Index(name = "idx_ticket_outbox_ticket_seq_id", columnList = "ticket_seq, id"),
+        @Index(name = "idx_ticket_outbox_next_attempt_at", columnList = "next_attempt_at")
+})
+public class OutboxEvent {
+
+    // Toplu işlemlerde insert'ler batch'lensin diye pooled sequence
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_outbox_seq")
+    @SequenceGenerator(name = "ticket_outbox_seq", sequenceName = "ticket_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    // Ticket içindeki sıra: ticket satırı kilitliyken verilir (TicketEventPublisher), id'nin aksine commit sırasını izler
+    @Column(name = "ticket_seq", nullable = false)
+    private long ticketSeq;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    @Enumerated(EnumType.STRING)
+    private TicketEventType eventType;
+
+    // TicketEvent'in JSON hali
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    // Başarısız teslim denemeleri (bekleme süresi ve uyarı için)
+    @Column(nullable = false)
+    private int attempts;
+
+    // Hata sonrası bu ana kadar (ve aynı ticket'ın sonraki olayları da) beklenir; null -> hemen
+    @Column(name = "next_attempt_at")
+    private OffsetDateTime nextAttemptAt;
+
+    // Olayı zaten almış aboneler (virgülle ayrılmış); tekrar denemede yalnız kalanlara gider
+    @Column(name = "delivered_to")
+    private String deliveredTo;
+
+    protected OutboxEvent() {
+    }
+
+    public OutboxEvent(Long ticketId, long ticketSeq, TicketEventType eventType, String payload) {
+        this.ticketId = ticketId;
+        this.ticketSeq = ticketSeq;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = OffsetDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public Long getTicketId() { return ticketId; }
+    public TicketEventType getEventType() { return eventType; }
+    public String getPayload() { return payload; }
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public int getAttempts() { return attempts; }
+    public long getTicketSeq() { return ticketSeq; }
+    public OffsetDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public String getDeliveredTo() { return deliveredTo; }
+}
@@ -0,0 +1,44 @@
+package com.secureoffice.backend.events;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // (ticket_seq, id) sırasıyla okunan her önek, içindeki ticketların daha küçük sıralı olaylarını da içerir.
+    // Beklemedeki (hata almış) olayın ticket'ı bütünüyle atlanır: sonraki olayları onu geçmesin
+    @Query("select o from OutboxEvent o where o.ticketId not in "
+            + "(select d.ticketId from OutboxEvent d where d.nextAttemptAt > :now) order by o.ticketSeq, o.id")
+    List<OutboxEvent> findNextBatch(@Param("now") OffsetDateTime now, Limit limit);
+
+    @Modifying
+    @Query("delete from OutboxEvent o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update OutboxEvent o set o.attempts = o.attempts + 1, o.nextAttemptAt = :next, "
+            + "o.deliveredTo = :deliveredTo where o.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("next") OffsetDateTime next,
+                      @Param("deliveredTo") String deliveredTo);
+
+    // Ticket satırını commit'e kadar kilitler: aynı ticket'a olay yazan transaction'lar bu noktada sıraya girer.
+    // Sahte sorgu alanı: Ticket yazımları flush edilmez, 2. seviye cache bölgeleri boşaltılmaz
+    @Modifying
+    @Query(nativeQuery = true, value = "update tickets set event_version = event_version + 1 where id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tickets_event_version"))
+    int bumpEventVersion(@Param("id") Long ticketId);
+
+    @Query(nativeQuery = true, value = "select event_version from tickets where id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tickets_event_version"))
+    long findEventVersion(@Param("id") Long ticketId);
+}
@@ -0,0 +1,39 @@
+package com.secureoffice.backend.events;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Outbox dağıtımının sahibi olan uygulama instance'ı. Aboneler (arama index'i, SSE) süreç içi olduğu için
+ * olayları yalnız tek instance tüketebilir; {@link OutboxDispatcher} kaydı periyodik olarak yeniler,
+ * süresi geçmiş kayıt başka bir instance tarafından devralınabilir.
+ */
+@Entity
+@Table(name = "outbox_lease")
+public class OutboxLease {
+
+    @Id
+    @Column(length = 40)
+    private String name;
+
+    // "pid@host/rastgele ek": aynı JVM'deki context'ler de ayrışsın
+    @Column(nullable = false, length = 120)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    protected OutboxLease() {
+    }
+
+    public OutboxLease(String name, String owner, OffsetDateTime expiresAt) {
+        this.name = name;
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getName() { return name; }
+    public String getOwner() { return owner; }
+    public OffsetDateTime getExpiresAt() { return expiresAt; }
+}
@@ -0,0 +1,27 @@
+package com.secureoffice.backend.events;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+
+public interface OutboxLeaseRepository extends JpaRepository<OutboxLease, String> {
+
+    // Kayıt bizdeyse yenilenir, süresi geçmişse devralınır; başka bir canlı sahip varsa 0
+    @Modifying
+    @Query("update OutboxLease l set l.owner = :owner, l.expiresAt = :expiresAt "
+            + "where l.name = :name and (l.owner = :owner or l.expiresAt < :now)")
+    int renewOrTakeOver(@Param("name") String name, @Param("owner") String owner,
+                        @Param("now") OffsetDateTime now, @Param("expiresAt") OffsetDateTime expiresAt);
+
+    // save() merge eder: arada eklenmiş başkasının kaydının üzerine yazmasın
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into outbox_lease (name, owner, expires_at) values (:name, :owner, :expiresAt)")
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") OffsetDateTime expiresAt);
+
+    @Modifying
+    @Query("delete from OutboxLease l where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -0,0 +1,261 @@
+package com.secureoffice.backend.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Proje bazlı SSE yayıncısı.
+ * - Boşta bekleyen abonelerin thread'i yok: SseEmitter servlet async üzerinde durur, yazma küçük bir havuzdan yapılır
+ * - Olay bir kez JSON'a çevrilir, aynı çerçeve tüm abonelere yazılır
+ * - Her abonenin kendi kuyruğu var; yavaş istemci diğerlerini bekletmez, kuyruğu taşarsa bağlantısı kapatılır
+ *   (istemci Last-Event-ID ile yeniden bağlanıp kaçırdıklarını alır)
+ * - Her proje için son olaylar halka tamponda tutulur; tamponun gerisinde kalan istemciye "RESYNC" gönderilir
+ */
+@Component
+public class ProjectEventBroadcaster implements TicketEventSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectEventBroadcaster.class);
+
+    static final int REPLAY_BUFFER_SIZE = 256;
+    static final int MAX_PENDING_PER_SUBSCRIBER = 1000;
+    static final String RESYNC_EVENT = "RESYNC";
+    private static final long HEARTBEAT_SECONDS = 25;
+
+    // Yeniden başlatmadan sonra eski id'ler yeni olaylarınkinden küçük kalsın diye saatten başlar
+    private final long bootSequence = System.currentTimeMillis() * 1000;
+    private final AtomicLong sequence = new AtomicLong(bootSequence);
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeat;
+    private final long emitterTimeoutMillis;
+    private final ObjectMapper objectMapper;
+
+    public ProjectEventBroadcaster(ObjectMapper objectMapper,
+                                   @Value("${app.events.sse-timeout-ms:1800000}") long emitterTimeoutMillis,
+                                   @Value("${app.events.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        AtomicInteger n = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> daemon(r, "sse-sender-" + n.incrementAndGet()));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "sse-heartbeat"));
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Yeni abone. lastEventId verilmişse tampondaki sonraki olaylar önce gönderilir;
+     * ekleme ve tekrar gönderme aynı kilit altında olduğu için arada olay kaybolmaz/çift gelmez.
+     */
+    public SseEmitter subscribe(Long projectId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        // Header'lar hemen gitsin (fetch/EventSource bağlantıyı açık görsün)
+        subscriber.enqueue(SseEmitter.event().comment("connected").build());
+
+        Channel channel = channels.computeIfAbsent(projectId, id -> new Channel());
+        channel.lock.lock();
+        try {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<TicketEvent> missed = channel.since(parseId(lastEventId), bootSequence);
+                if (missed == null) {
+                    // id ile birlikte: istemci bundan sonra kaldığı yeri buradan sayar
+                    subscriber.enqueue(SseEmitter.event().id(Long.toString(sequence.get()))
+                            .name(RESYNC_EVENT).data("{}").build());
+                } else {
+                    missed.forEach(e -> subscriber.enqueue(toSse(e)));
+                }
+            }
+            channel.subscribers.add(subscriber);
+        } finally {
+            channel.lock.unlock();
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    // Outbox dağıtıcısından (commit'ten sonra) gelir
+    @Override
+    public void onTicketEvent(TicketEvent event) {
+        publish(event);
+    }
+
+    public void publish(TicketEvent event) {
+        if (event.getProjectId() == null) return; // Projesiz ticket'ların akışı yok
+        Channel channel = channels.computeIfAbsent(event.getProjectId(), id -> new Channel());
+        List<Subscriber> targets;
+        channel.lock.lock();
+        try {
+            event.setId(sequence.incrementAndGet());
+            channel.remember(event);
+            targets = new ArrayList<>(channel.subscribers);
+            Set<DataWithMediaType> sse = toSse(event);
+            targets.forEach(s -> s.enqueue(sse));
+        } finally {
+            channel.lock.unlock();
+        }
+        targets.forEach(this::schedule);
+    }
+
+    int subscriberCount(Long projectId) {
+        Channel channel = channels.get(projectId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        channels.values().forEach(c -> c.subscribers.forEach(s -> s.emitter.complete()));
+        senders.shutdown();
+    }
+
+    private void sendHeartbeat() {
+        // Proxy'ler boşta bağlantıyı kesmesin; kopmuş istemciler de yazma hatasıyla temizlenir
+        for (Channel channel : channels.values()) {
+            for (Subscriber s : channel.subscribers) {
+                s.enqueue(SseEmitter.event().comment("ping").build());
+                schedule(s);
+            }
+        }
+    }
+
+    private void schedule(Subscriber s) {
+        if (!s.closed && s.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(s));
+        }
+    }
+
+    private void drain(Subscriber s) {
+        try {
+            Set<DataWithMediaType> next;
+            while (!s.closed && (next = s.queue.poll()) != null) {
+                s.pending.decrementAndGet();
+                s.emitter.send(next);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // İstemci gitmiş; emitter zaten kapanıyor
+            s.closed = true;
+            unsubscribe(s);
+        } finally {
+            s.draining.set(false);
+            if (!s.closed && !s.queue.isEmpty()) schedule(s);
+        }
+    }
+
+    private void unsubscribe(Subscriber s) {
+        s.closed = true;
+        Channel channel = channels.get(s.projectId);
+        if (channel != null) channel.subscribers.remove(s);
+    }
+
+    // Tamponda da bu hali tutmak yerine her tekrar gönderimde yeniden üretiyoruz (tampon küçük, bellek önemli)
+    private Set<DataWithMediaType> toSse(TicketEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Olay JSON'a çevrilemedi", e);
+        }
+        return SseEmitter.event()
+                .id(Long.toString(event.getId()))
+                .name(event.getType().name())
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private static long parseId(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1; // Tanımadığımız id -> RESYNC
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    // Projenin aboneleri ve son olayları
+    private static final class Channel {
+        final ReentrantLock lock = new ReentrantLock();
+        final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        final ArrayDeque<TicketEvent> recent = new ArrayDeque<>(REPLAY_BUFFER_SIZE);
+        // Tampondan düşen en yeni olayın id'si; bundan eskiye dönülemez
+        long evictedUpTo = -1;
+
+        void remember(TicketEvent event) {
+            if (recent.size() == REPLAY_BUFFER_SIZE) evictedUpTo = recent.removeFirst().getId();
+            recent.addLast(event);
+        }
+
+        // null -> istenen noktadan sonrası elde yok, istemci tam yenileme yapmalı
+        List<TicketEvent> since(long lastId, long bootSequence) {
+            long horizon = Math.max(evictedUpTo, bootSequence);
+            if (lastId < horizon) return null;
+            List<TicketEvent> missed = new ArrayList<>();
+            for (TicketEvent e : recent) {
+                if (e.getId() > lastId) missed.add(e);
+            }
+            return missed;
+        }
+    }
+
+    private static final class Subscriber {
+        final Long projectId;
+        final SseEmitter emitter;
+        final ConcurrentLinkedQueue<Set<DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<DataWithMediaType> event) {
+            if (closed) return;
+            if (pending.incrementAndGet() > MAX_PENDING_PER_SUBSCRIBER) {
+                // Yetişemeyen istemci: bağlantıyı kapat, Last-Event-ID ile geri gelsin
+                log.debug("SSE aboneliği kapatıldı (kuyruk doldu), proje {}", projectId);
+                closed = true;
+                emitter.complete();
+                return;
+            }
+            queue.add(event);
+        }
+    }
+}
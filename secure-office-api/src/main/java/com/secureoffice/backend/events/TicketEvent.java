@@ -0,0 +1,55 @@
+package com.secureoffice.backend.events;
+
+import com.secureoffice.backend.dto.response.CommentResponse;
+import com.secureoffice.backend.dto.response.TicketSummaryResponse;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Bir projedeki ticket değişikliği. ticket/comment alanları elde hazırsa dolu gelir;
+ * boşsa (ör. toplu işlemler) istemci ticketId ile ilgili kaydı kendisi okur.
+ * Outbox'a JSON olarak yazılır ({@link TicketEventPublisher}).
+ * id, yayınlanırken {@link ProjectEventBroadcaster} tarafından verilir (Last-Event-ID).
+ */
+public class TicketEvent {
+    private long id;
+    private TicketEventType type;
+    private Long projectId;
+    private Long ticketId;
+    private TicketSummaryResponse ticket;
+    private CommentResponse comment;
+    private OffsetDateTime occurredAt;
+
+    // Outbox'tan JSON okuma için
+    protected TicketEvent() {
+    }
+
+    public TicketEvent(TicketEventType type, Long projectId, Long ticketId,
+                       TicketSummaryResponse ticket, CommentResponse comment) {
+        this.type = type;
+        this.projectId = projectId;
+        this.ticketId = ticketId;
+        this.ticket = ticket;
+        this.comment = comment;
+        this.occurredAt = OffsetDateTime.now();
+    }
+
+    public static TicketEvent of(TicketEventType type, TicketSummaryResponse ticket) {
+        return new TicketEvent(type, ticket.getProjectId(), ticket.getId(), ticket, null);
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+    public TicketEventType getType() { return type; }
+    public void setType(TicketEventType type) { this.type = type; }
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    public Long getTicketId() { return ticketId; }
+    public void setTicketId(Long ticketId) { this.ticketId = ticketId; }
+    public TicketSummaryResponse getTicket() { return ticket; }
+    public void setTicket(TicketSummaryResponse ticket) { this.ticket = ticket; }
+    public CommentResponse getComment() { return comment; }
+    public void setComment(CommentResponse comment) { this.comment = comment; }
+    public OffsetDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(OffsetDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
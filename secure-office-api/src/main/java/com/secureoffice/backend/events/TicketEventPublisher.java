@@ -0,0 +1,68 @@
+package com.secureoffice.backend.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ticket olaylarını outbox tablosuna yazar. Çağıranın transaction'ı zorunlu:
+ * olay ancak değişiklikle birlikte commit olursa var olur (rollback'te ikisi de gider).
+ * Her olay ticket'ın event_version sayacını artırır; satır kilidi commit'e kadar tutulduğu için
+ * aynı ticket'ın olayları ticket_seq'e commit sırasıyla yazılır (outbox id'si pooled sequence'tan, sırayı izlemez).
+ */
+@Component
+public class TicketEventPublisher {
+
+    // Transaction başına tek uyandırma (toplu işlemlerde yüzlerce olay olabilir)
+    private static final Object WAKE_UP_REGISTERED = new Object();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
+
+    public TicketEventPublisher(OutboxEventRepository outboxEventRepository,
+                                OutboxDispatcher dispatcher,
+                                ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.dispatcher = dispatcher;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(TicketEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Olay JSON'a çevrilemedi", e);
+        }
+        outboxEventRepository.save(new OutboxEvent(event.getTicketId(), nextTicketSeq(event), event.getType(), payload));
+
+        // Commit olur olmaz dağıtıcıyı uyandır (bir sonraki yoklamayı beklemesin)
+        if (TransactionSynchronizationManager.hasResource(WAKE_UP_REGISTERED)) return;
+        TransactionSynchronizationManager.bindResource(WAKE_UP_REGISTERED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wakeUp();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WAKE_UP_REGISTERED);
+            }
+        });
+    }
+
+    // Yeni ticket commit olmadan başka transaction'a görünmez: kilide gerek yok, sıra 0.
+    // Satır henüz flush edilmemişse (veya yoksa) UPDATE 0 döner, sıra yine 0; sonraki olaylar 1'den devam eder
+    private long nextTicketSeq(TicketEvent event) {
+        if (event.getType() == TicketEventType.TICKET_CREATED) return 0;
+        if (outboxEventRepository.bumpEventVersion(event.getTicketId()) == 0) return 0;
+        return outboxEventRepository.findEventVersion(event.getTicketId());
+    }
+}
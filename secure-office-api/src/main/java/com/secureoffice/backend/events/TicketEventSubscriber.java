@@ -0,0 +1,12 @@
+package com.secureoffice.backend.events;
+
+/**
+ * Outbox'tan teslim edilen ticket olaylarını alan süreç içi abone.
+ * Teslim "en az bir kez"dir: aynı olay tekrar gelebilir, işleyiş idempotent olmalı.
+ * Aynı ticket'ın olayları sırayla gelir. Exception fırlatmak olayı bir süre sonra yalnız bu aboneye yeniden denetir;
+ * o ticket'ın sonraki olayları bu arada (tüm aboneler için) bekler.
+ */
+public interface TicketEventSubscriber {
+
+    void onTicketEvent(TicketEvent event);
+}
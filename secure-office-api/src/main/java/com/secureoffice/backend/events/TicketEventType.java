@@ -0,0 +1,10 @@
+package com.secureoffice.backend.events;
+
+// SSE "event:" alanı bu isimlerle gider
+public enum TicketEventType {
+    TICKET_CREATED,
+    TICKET_UPDATED,
+    STATUS_CHANGED,
+    TICKET_DELETED,
+    COMMENT_ADDED
+}
@@ -0,0 +1,63 @@
+package com.secureoffice.backend.history;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ticket alan değişikliği (sadece eklenir, güncellenmez/silinmez).
+ * Yazma JPA ile değil {@link TicketHistoryWriter} üzerinden JDBC batch ile yapılır; entity şema ve okuma içindir.
+ * Ticket silinse de kayıtlar kalır (ticket_id'de FK yok).
+ */
+@Entity
+@Table(name = "ticket_history", indexes = {
+        // Ticket'ın geçmişi yeniden eskiye (keyset)
+        @Index(name = "idx_ticket_history_ticket_id_id", columnList = "ticket_id, id")
+})
+public class TicketHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    // title, description, priority, status, assignee
+    @Column(nullable = false, length = 30)
+    private String field;
+
+    @Column(name = "old_value", columnDefinition = "text")
+    private String oldValue;
+
+    @Column(name = "new_value", columnDefinition = "text")
+    private String newValue;
+
+    // Değiştiren kullanıcının id'si
+    @Column(name = "changed_by")
+    private Long changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    protected TicketHistory() {
+    }
+
+    public TicketHistory(Long ticketId, String field, String oldValue, String newValue,
+                         Long changedBy, LocalDateTime changedAt) {
+        this.ticketId = ticketId;
+        this.field = field;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getTicketId() { return ticketId; }
+    public String getField() { return field; }
+    public String getOldValue() { return oldValue; }
+    public String getNewValue() { return newValue; }
+    public Long getChangedBy() { return changedBy; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
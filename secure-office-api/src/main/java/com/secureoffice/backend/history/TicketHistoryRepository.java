@@ -0,0 +1,29 @@
+package com.secureoffice.backend.history;
+
+import com.secureoffice.backend.dto.response.TicketHistoryResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TicketHistoryRepository extends JpaRepository<TicketHistory, Long> {
+
+    // Kayıt + değiştirenin adı tek SQL'de; kullanıcı silinmişse ad boş gelir
+    String HISTORY_SELECT = """
+    select new com.secureoffice.backend.dto.response.TicketHistoryResponse(
+        h.id, h.field, h.oldValue, h.newValue, h.changedAt, u.id, u.firstName, u.lastName)
+    from TicketHistory h
+    left join User u on u.id = h.changedBy
+  """;
+
+    // Yeniden eskiye (keyset, (ticket_id, id) index'i; id ekleme sırasıdır)
+    @Query(HISTORY_SELECT + "where h.ticketId = :ticketId order by h.id desc")
+    List<TicketHistoryResponse> findNewestFirst(@Param("ticketId") Long ticketId, Limit limit);
+
+    @Query(HISTORY_SELECT + "where h.ticketId = :ticketId and h.id < :id order by h.id desc")
+    List<TicketHistoryResponse> findNewestFirstBefore(@Param("ticketId") Long ticketId,
+                                                      @Param("id") Long id,
+                                                      Limit limit);
+}
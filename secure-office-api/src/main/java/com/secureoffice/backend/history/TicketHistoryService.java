@@ -0,0 +1,108 @@
+package com.secureoffice.backend.history;
+
+import com.secureoffice.backend.dto.response.CursorPage;
+import com.secureoffice.backend.dto.response.TicketHistoryResponse;
+import com.secureoffice.backend.tickets.Ticket;
+import com.secureoffice.backend.tickets.TicketService;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Ticket alan bazlı değişiklik geçmişi.
+ * Yazan servis değişiklikten önce {@link #snapshot} alır, sonra {@link #recordChanges} ile farkı bildirir.
+ * Kayıtlar commit'ten sonra kuyruğa girer (rollback olan değişiklik geçmişe yazılmaz) ve toplu yazılır.
+ */
+@Service
+public class TicketHistoryService {
+
+    private final TicketHistoryRepository ticketHistoryRepository;
+    private final TicketHistoryWriter writer;
+
+    public TicketHistoryService(TicketHistoryRepository ticketHistoryRepository, TicketHistoryWriter writer) {
+        this.ticketHistoryRepository = ticketHistoryRepository;
+        this.writer = writer;
+    }
+
+    // Geçmişi tutulan alanların değişiklik öncesi hali (assignee id ile; proxy yüklenmez)
+    public static final class Snapshot {
+        private final String title;
+        private final String description;
+        private final String priority;
+        private final String status;
+        private final String assignee;
+
+        private Snapshot(Ticket t) {
+            this.title = t.getTitle();
+            this.description = t.getDescription();
+            this.priority = t.getPriority() != null ? t.getPriority().name() : null;
+            this.status = t.getStatus() != null ? t.getStatus().name() : null;
+            this.assignee = t.getAssignedTo() != null ? String.valueOf(t.getAssignedTo().getId()) : null;
+        }
+    }
+
+    public static Snapshot snapshot(Ticket t) {
+        return new Snapshot(t);
+    }
+
+    public void recordChanges(Snapshot before, Ticket ticket, Long changedBy) {
+        Snapshot after = new Snapshot(ticket);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<TicketHistory> entries = new ArrayList<>(5);
+        diff(entries, ticket.getId(), "title", before.title, after.title, changedBy, now);
+        diff(entries, ticket.getId(), "description", before.description, after.description, changedBy, now);
+        diff(entries, ticket.getId(), "priority", before.priority, after.priority, changedBy, now);
+        diff(entries, ticket.getId(), "status", before.status, after.status, changedBy, now);
+        diff(entries, ticket.getId(), "assignee", before.assignee, after.assignee, changedBy, now);
+        if (entries.isEmpty()) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writer.enqueue(entries);
+                }
+            });
+        } else {
+            writer.enqueue(entries);
+        }
+    }
+
+    private static void diff(List<TicketHistory> out, Long ticketId, String field, String oldValue, String newValue,
+                             Long changedBy, LocalDateTime at) {
+        if (!Objects.equals(oldValue, newValue)) {
+            out.add(new TicketHistory(ticketId, field, oldValue, newValue, changedBy, at));
+        }
+    }
+
+    // Yeniden eskiye; cursor bir önceki sayfanın son kaydının id'si. Silinmiş ticket'ın geçmişi de okunabilir.
+    public CursorPage<TicketHistoryResponse> getHistory(Long ticketId, String cursor, Integer limit) {
+        int size = TicketService.clampLimit(limit);
+        Limit window = Limit.of(size + 1);
+        List<TicketHistoryResponse> rows = cursor == null || cursor.isBlank()
+                ? ticketHistoryRepository.findNewestFirst(ticketId, window)
+                : ticketHistoryRepository.findNewestFirstBefore(ticketId, parseCursor(cursor), window);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TicketHistoryResponse> items = rows.subList(0, size);
+        return new CursorPage<>(items, String.valueOf(items.get(size - 1).getId()));
+    }
+
+    private static Long parseCursor(String cursor) {
+        try {
+            return Long.valueOf(cursor.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Geçersiz cursor");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.secureoffice.backend.history;
+
+import com.secureoffice.backend.monitoring.LogRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Geçmiş kayıtlarını sınırlı bir kuyrukta toplayıp tek thread'den JDBC batch ile yazar.
+ * - İstek thread'i sadece kuyruğa ekler, hiç beklemez (commit sonrası çağrılır, yanıtı geciktirmemeli)
+ * - Kuyruk doluysa kayıt atılır ve sayılır (ticket.history.dropped); log satırları da sınırlı
+ * - Kapanışta kuyrukta kalanlar yazılır; kapanış başladıktan sonra gelen kayıtlar reddedilip sayılır
+ */
+@Component
+public class TicketHistoryWriter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketHistoryWriter.class);
+
+    private static final String INSERT_SQL = """
+            insert into ticket_history (ticket_id, field, old_value, new_value, changed_by, changed_at)
+            values (?, ?, ?, ?, ?, ?)""";
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final LogRateLimiter DROP_LOGS = new LogRateLimiter(5, Duration.ofSeconds(10));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<TicketHistory> queue;
+    private final int batchSize;
+    private final Thread worker;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running = true;
+
+    public TicketHistoryWriter(DataSource dataSource,
+                               @Value("${app.history.queue-capacity:10000}") int queueCapacity,
+                               @Value("${app.history.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.worker = new Thread(this::run, "ticket-history-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public void enqueue(List<TicketHistory> entries) {
+        if (!running) {
+            drop(entries.size(), "uygulama kapanıyor");
+            return;
+        }
+        int rejected = 0;
+        for (TicketHistory entry : entries) {
+            if (!queue.offer(entry)) rejected++;
+        }
+        if (rejected > 0) drop(rejected, "kuyruk dolu");
+        // stop() kuyruğu boşalttıktan hemen sonra eklenenler: thread artık yok, burada yazılır
+        if (!running) writeRemaining();
+    }
+
+    // Yazılmayı bekleyen kayıt sayısı
+    int pending() {
+        return queue.size();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ticket.history.dropped", dropped, LongAdder::sum)
+                .description("Kuyruk dolu olduğu veya uygulama kapandığı için yazılmayan geçmiş kayıtları")
+                .register(registry);
+        Gauge.builder("ticket.history.pending", queue, BlockingQueue::size)
+                .description("Yazılmayı bekleyen geçmiş kayıtları")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(5000);
+        writeRemaining(); // Thread'in yazamadığı kalanlar
+    }
+
+    private synchronized void writeRemaining() {
+        List<TicketHistory> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += batchSize) {
+            write(rest.subList(i, Math.min(rest.size(), i + batchSize)));
+        }
+    }
+
+    private void drop(int count, String reason) {
+        dropped.add(count);
+        long suppressed = DROP_LOGS.tryAcquire();
+        if (suppressed >= 0) {
+            log.error("{} geçmiş kaydı atıldı ({}) ({} benzer kayıt bastırıldı)", count, reason, suppressed);
+        }
+    }
+
+    private void run() {
+        List<TicketHistory> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // Bir kayıt gelene kadar bekle, sonra o an birikmiş olanları da al
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // stop(): kalanlar orada yazılır
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<TicketHistory> batch) {
+        if (batch.isEmpty()) return;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        TicketHistory h = batch.get(i);
+                        ps.setLong(1, h.getTicketId());
+                        ps.setString(2, h.getField());
+                        ps.setString(3, h.getOldValue());
+                        ps.setString(4, h.getNewValue());
+                        if (h.getChangedBy() == null) ps.setNull(5, Types.BIGINT);
+                        else ps.setLong(5, h.getChangedBy());
+                        ps.setTimestamp(6, Timestamp.valueOf(h.getChangedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                });
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_WRITE_ATTEMPTS) {
+                    log.error("{} geçmiş kaydı {} denemede yazılamadı, atılıyor", batch.size(), attempt, e);
+                    return;
+                }
+                log.warn("Geçmiş kayıtları yazılamadı (deneme {}), tekrar denenecek: {}", attempt, e.toString());
+            }
+        }
+    }
+}
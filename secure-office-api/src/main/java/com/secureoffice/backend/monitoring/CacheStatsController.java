@@ -0,0 +1,38 @@
+package com.secureoffice.backend.monitoring;
+
+import com.secureoffice.backend.dto.response.CacheRegionStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 2. seviye cache ve query cache bölgelerinin isabet/ıska sayıları (uygulama açıldığından beri)
+@RestController
+@RequestMapping("/api/v1/monitoring")
+public class CacheStatsController {
+
+    private final Statistics statistics;
+
+    public CacheStatsController(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @GetMapping("/cache")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public List<CacheRegionStatsResponse> cacheStats() {
+        List<CacheRegionStatsResponse> regions = new ArrayList<>();
+        // Entity, koleksiyon ve query bölgeleri (ör. users.byEmail) birlikte
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics s = statistics.getCacheRegionStatistics(region);
+            if (s != null) regions.add(CacheRegionStatsResponse.from(region, s));
+        }
+        return regions;
+    }
+}
@@ -0,0 +1,51 @@
+package com.secureoffice.backend.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Her isteğe bir korelasyon id'si: istemci X-Request-Id gönderdiyse (ve makul bir değerse) o, yoksa yeni UUID.
+ * İstek boyunca MDC'de "requestId" olarak durur, böylece o isteğin bütün log satırlarında görünür;
+ * cevapta da aynı header ile döner. Zincirin en dışında çalışır (QueryStatsFilter'ın logları da id taşısın).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    // Log'a girecek değer: kısa ve güvenli karakterler (log enjeksiyonu yok)
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String incoming = request.getHeader(HEADER);
+        String requestId = incoming != null && VALID_ID.matcher(incoming).matches()
+                ? incoming
+                : UUID.randomUUID().toString();
+
+        MDC.put(MDC_KEY, requestId);
+        response.setHeader(HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.secureoffice.backend.monitoring;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sınırlı kuyruklu, istek thread'ini hiç bekletmeyen async appender (logback-spring.xml).
+ * Kuyruk discardingThreshold altına inince INFO ve altı, tamamen dolunca her seviye atılır;
+ * atılan olaylar sayılır ve logging.events.dropped metriğinde görünür (LoggingMetrics).
+ * Logback'in kendi AsyncAppender'ı neverBlock ile olayı sessizce düşürür, sayı tutmaz.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    // Appender logback tarafından kurulur, Spring bean'i değil: sayaç JVM genelinde tek
+    private static final LongAdder DROPPED = new LongAdder();
+
+    public DroppingAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    public static long droppedCount() {
+        return DROPPED.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        // Sayım yaklaşık: kontrol ile kuyruğa ekleme arasında dolarsa super yine düşürür, sayılmaz
+        if (remaining == 0 || (remaining < getDiscardingThreshold() && isDiscardable(event))) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+}
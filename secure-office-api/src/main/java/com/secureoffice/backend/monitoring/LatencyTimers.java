@@ -0,0 +1,34 @@
+package com.secureoffice.backend.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+/**
+ * Uygulama timer'ları için ortak ayar: sabit histogram kovaları (SLO sınırları).
+ * Yüzdelik hesaplanmaz; kayıt sadece ilgili kovanın sayacını artırır, istek yolunda allocation olmaz.
+ * Prometheus'ta p95/p99 histogram_quantile ile kovalardan hesaplanır.
+ * Timer'lar açılışta veya ilk kullanımda bir kez kaydedilir, her çağrıda registry'de aranmaz.
+ */
+public final class LatencyTimers {
+
+    // application.properties'teki http.server.requests kovalarıyla aynı
+    static final Duration[] BUCKETS = {
+            Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofMillis(2500)
+    };
+
+    private LatencyTimers() {
+    }
+
+    public static Timer register(MeterRegistry registry, String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .serviceLevelObjectives(BUCKETS)
+                .publishPercentileHistogram(false)
+                .register(registry);
+    }
+}
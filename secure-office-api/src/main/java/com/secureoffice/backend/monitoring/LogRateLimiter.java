@@ -0,0 +1,52 @@
+package com.secureoffice.backend.monitoring;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Tekrarlayan log olayları için sınır: her aralıkta en fazla `permits` satır, gerisi sadece sayılır.
+ * Bir sonraki izin verilen satır, arada bastırılan olay sayısını da yazar. Kilitsiz; sınır yaklaşık
+ * (aralık değişimine denk gelen birkaç fazla satır olabilir).
+ *
+ * <pre>
+ * long suppressed = limiter.tryAcquire();
+ * if (suppressed >= 0) log.warn("... ({} benzer kayıt bastırıldı)", suppressed);
+ * </pre>
+ */
+public final class LogRateLimiter {
+
+    private final int permits;
+    private final long intervalNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLong windowStart;
+    private final AtomicInteger used = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogRateLimiter(int permits, Duration interval) {
+        this(permits, interval, System::nanoTime);
+    }
+
+    LogRateLimiter(int permits, Duration interval, LongSupplier nanoTime) {
+        this.permits = permits;
+        this.intervalNanos = interval.toNanos();
+        this.nanoTime = nanoTime;
+        this.windowStart = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /** Loglanabilirse son izinden beri bastırılan olay sayısı (>= 0), loglanmamalıysa -1. */
+    public long tryAcquire() {
+        long now = nanoTime.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permits) {
+            return suppressed.sumThenReset();
+        }
+        suppressed.increment();
+        return -1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.secureoffice.backend.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+// Async log kuyruğu dolduğu için atılan olaylar (DroppingAsyncAppender)
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", DroppingAsyncAppender.class,
+                        c -> DroppingAsyncAppender.droppedCount())
+                .description("Async log kuyruğu dolu olduğu için yazılmayan log olayları")
+                .register(registry);
+    }
+}
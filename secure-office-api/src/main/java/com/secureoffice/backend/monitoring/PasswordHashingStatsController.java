@@ -0,0 +1,26 @@
+package com.secureoffice.backend.monitoring;
+
+import com.secureoffice.backend.dto.response.PasswordHashingStatsResponse;
+import com.secureoffice.backend.security.PasswordHashingExecutor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Şifre hash havuzu: kuyruk derinliği, reddedilen (429) istekler ve hash süreleri
+@RestController
+@RequestMapping("/api/v1/monitoring")
+public class PasswordHashingStatsController {
+
+    private final PasswordHashingExecutor passwordHasher;
+
+    public PasswordHashingStatsController(PasswordHashingExecutor passwordHasher) {
+        this.passwordHasher = passwordHasher;
+    }
+
+    @GetMapping("/password-hashing")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public PasswordHashingStatsResponse passwordHashingStats() {
+        return passwordHasher.stats();
+    }
+}
@@ -0,0 +1,52 @@
+package com.secureoffice.backend.monitoring;
+
+/**
+ * Tek bir HTTP isteğinin JDBC maliyeti: çalışan statement sayısı, okunan satır sayısı ve JDBC'de geçen süre.
+ * İstek thread'ine bağlıdır (ThreadLocal); istek dışındaki işler (async export, arka plan job'ları) sayılmaz.
+ */
+public final class QueryStats {
+
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    public static final String HEADER_COUNT = "X-Query-Count";
+    public static final String HEADER_ROWS = "X-Query-Rows";
+    public static final String HEADER_TIME = "X-Query-Time-Ms";
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // Bu thread'de ölçüm yoksa null
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int getStatements() { return statements; }
+    public long getRows() { return rows; }
+    public long getJdbcNanos() { return jdbcNanos; }
+
+    public String formatJdbcMillis() {
+        return String.format(java.util.Locale.ROOT, "%.3f", jdbcNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,33 @@
+package com.secureoffice.backend.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// app.monitoring.sql-stats.enabled=false ile tamamen kapatılabilir (proxy hiç oluşmaz)
+@Configuration
+@ConditionalOnProperty(name = "app.monitoring.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    @Bean
+    static BeanPostProcessor queryStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource ds && !(bean instanceof QueryStatsDataSource)) {
+                    return new QueryStatsDataSource(ds);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    QueryStatsFilter queryStatsFilter(@Value("${app.monitoring.sql-stats.warn-statements:25}") int warnStatements) {
+        return new QueryStatsFilter(warnStatements);
+    }
+}
@@ -0,0 +1,91 @@
+package com.secureoffice.backend.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Connection/Statement/ResultSet'i ince bir JDK proxy ile sarar; her execute çağrısını
+ * ve ResultSet.next() ile okunan satırları o anki {@link QueryStats}'a yazar.
+ * Harici kütüphane (datasource-proxy vb.) gerektirmez.
+ */
+public class QueryStatsDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = QueryStatsDataSource.class.getClassLoader();
+
+    public QueryStatsDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    // createStatement / prepareStatement / prepareCall
+                    if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                        return wrapStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private static Object wrapStatement(Statement target, Class<?> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                Object result = invoke(target, method, args);
+                return result instanceof ResultSet rs ? wrapResultSet(rs) : result;
+            }
+            QueryStats stats = QueryStats.current();
+            if (stats == null) {
+                Object result = invoke(target, method, args);
+                return result instanceof ResultSet rs ? wrapResultSet(rs) : result;
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = invoke(target, method, args);
+                return result instanceof ResultSet rs ? wrapResultSet(rs) : result;
+            } finally {
+                stats.recordStatement(System.nanoTime() - start);
+            }
+        };
+        return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{type}, handler);
+    }
+
+    private static ResultSet wrapResultSet(ResultSet target) {
+        return (ResultSet) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                        QueryStats stats = QueryStats.current();
+                        if (stats != null) stats.recordRow();
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.secureoffice.backend.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Her isteğin başında ölçümü açar, sonunda kapatır.
+ * Gövdesi olan cevaplarda header'lar {@link QueryStatsResponseAdvice} ile yazılır;
+ * gövdesiz cevaplarda (204 vb.) burada eklenir.
+ * Sonuç ayrıca request attribute olarak bırakılır (testler serileştirme dahil son değeri okur).
+ */
+// CorrelationIdFilter'ın hemen içinde: N+1 uyarısı isteğin requestId'siyle loglanır
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    private final int warnStatements;
+
+    public QueryStatsFilter(int warnStatements) {
+        this.warnStatements = warnStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        QueryStats stats = QueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats.end();
+            request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, stats);
+            if (!response.isCommitted()) {
+                response.setHeader(QueryStats.HEADER_COUNT, Integer.toString(stats.getStatements()));
+                response.setHeader(QueryStats.HEADER_ROWS, Long.toString(stats.getRows()));
+                response.setHeader(QueryStats.HEADER_TIME, stats.formatJdbcMillis());
+            }
+            if (stats.getStatements() > warnStatements) {
+                // Muhtemel N+1
+                log.warn("{} {} -> {} SQL statements, {} rows, {} ms JDBC", request.getMethod(),
+                        request.getRequestURI(), stats.getStatements(), stats.getRows(), stats.formatJdbcMillis());
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} {} -> {} SQL statements, {} rows, {} ms JDBC", request.getMethod(),
+                        request.getRequestURI(), stats.getStatements(), stats.getRows(), stats.formatJdbcMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.secureoffice.backend.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Gövde yazılmadan hemen önce (header'lar henüz gönderilmemişken) o ana kadarki sayıları ekler.
+// Ölçüm kapalıysa (QueryStatsFilter yok) hiçbir şey yapmaz.
+@ControllerAdvice
+public class QueryStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(QueryStats.HEADER_COUNT, Integer.toString(stats.getStatements()));
+            response.getHeaders().set(QueryStats.HEADER_ROWS, Long.toString(stats.getRows()));
+            response.getHeaders().set(QueryStats.HEADER_TIME, stats.formatJdbcMillis());
+        }
+        return body;
+    }
+}
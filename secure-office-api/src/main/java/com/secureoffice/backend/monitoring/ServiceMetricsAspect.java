@@ -0,0 +1,92 @@
+package com.secureoffice.backend.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TicketService ve AuthService'in her public metodu için süre ve sonuç:
+ * service.operations{service, operation, outcome=success|forbidden|not_found|client_error|error}.
+ * Transaction'ın dışında çalışır (en yüksek öncelik): commit süresi ve commit'te çıkan hatalar da sayılır.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    enum Outcome {
+        SUCCESS("success"), FORBIDDEN("forbidden"), NOT_FOUND("not_found"),
+        CLIENT_ERROR("client_error"), ERROR("error");
+
+        final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    // Metot başına sonuç sayısı kadar timer; ilk çağrıda kaydedilir
+    private final ConcurrentHashMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.secureoffice.backend.tickets.TicketService.*(..))"
+            + " || execution(public * com.secureoffice.backend.auth.AuthService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer[] byOutcome = timers.get(method);
+        if (byOutcome == null) byOutcome = timers.computeIfAbsent(method, this::register);
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = classify(e);
+            throw e;
+        } finally {
+            byOutcome[outcome.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static Outcome classify(Throwable e) {
+        if (e instanceof AccessDeniedException) return Outcome.FORBIDDEN;
+        if (e instanceof ResponseStatusException rse) {
+            if (rse.getStatusCode().value() == HttpStatus.FORBIDDEN.value()) return Outcome.FORBIDDEN;
+            if (rse.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) return Outcome.NOT_FOUND;
+            if (rse.getStatusCode().is4xxClientError()) return Outcome.CLIENT_ERROR;
+        }
+        // AuthService hatalı girişte IllegalArgumentException fırlatır (kullanıcı yok / şifre yanlış)
+        if (e instanceof IllegalArgumentException) return Outcome.CLIENT_ERROR;
+        return Outcome.ERROR;
+    }
+
+    private Timer[] register(Method method) {
+        Outcome[] outcomes = Outcome.values();
+        Timer[] result = new Timer[outcomes.length];
+        for (Outcome o : outcomes) {
+            result[o.ordinal()] = LatencyTimers.register(registry, "service.operations",
+                    "Servis metodu süresi ve sonucu",
+                    "service", method.getDeclaringClass().getSimpleName(),
+                    "operation", method.getName(),
+                    "outcome", o.tag);
+        }
+        return result;
+    }
+}
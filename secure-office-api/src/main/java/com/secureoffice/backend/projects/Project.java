@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.secureoffice.backend.tickets.Ticket;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +14,7 @@ import java.util.List;
 @Entity
 @Data
 @Table(name = "projects")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Project {
 
     @Id
@@ -30,4 +33,11 @@ public class Project {
 
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    // Projedeki ticket/yorum değişikliklerinde artan sayaç (board ve liste ETag'i).
+    // Sadece ProjectRepository.bumpTicketsVersion ile değişir; entity kaydı bu kolona yazmaz.
+    @JsonIgnore
+    @Column(name = "tickets_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long ticketsVersion;
 }
\ No newline at end of file
@@ -1,9 +1,17 @@
 package com.secureoffice.backend.projects;
 
+import com.secureoffice.backend.dto.response.CursorPage;
+import com.secureoffice.backend.dto.response.ProjectBoardResponse;
+import com.secureoffice.backend.dto.response.TicketSummaryResponse;
+import com.secureoffice.backend.events.ProjectEventBroadcaster;
+import com.secureoffice.backend.tickets.ProjectBoardService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException; // Hata fırlatmak için gerekli
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -13,9 +21,15 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectRepository projectRepository;
+    private final ProjectBoardService projectBoardService;
+    private final ProjectEventBroadcaster eventBroadcaster;
 
-    public ProjectController(ProjectRepository projectRepository) {
+    public ProjectController(ProjectRepository projectRepository,
+                             ProjectBoardService projectBoardService,
+                             ProjectEventBroadcaster eventBroadcaster) {
         this.projectRepository = projectRepository;
+        this.projectBoardService = projectBoardService;
+        this.eventBroadcaster = eventBroadcaster;
     }
 
     // 1. Tüm Projeleri Getir
@@ -33,6 +47,35 @@ public class ProjectController {
     }
     // --------------------------------
 
+    // Kanban ekranı tek istekte: proje + durum kolonları (ilk N kart) + kullanıcılar
+    @GetMapping("/{id}/board")
+    public ProjectBoardResponse getBoard(@PathVariable Long id,
+                                         @RequestParam(required = false) Integer perColumn,
+                                         WebRequest request) {
+        String etag = projectBoardService.getBoardETag(id);
+        if (etag != null && request.checkNotModified(etag)) return null;
+        return projectBoardService.getBoard(id, perColumn);
+    }
+
+    // Bir kolonun devamı (board cevabındaki nextCursor ile)
+    @GetMapping("/{id}/board/columns/{status}")
+    public CursorPage<TicketSummaryResponse> getBoardColumn(@PathVariable Long id,
+                                                            @PathVariable String status,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        return projectBoardService.getColumnPage(id, status, cursor, limit);
+    }
+
+    // Değişiklik akışı (SSE). Yeniden bağlanan istemci Last-Event-ID ile kaldığı yerden devam eder.
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable Long id,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (!projectRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Proje bulunamadı");
+        }
+        return eventBroadcaster.subscribe(id, lastEventId);
+    }
+
     // 3. Yeni Proje Oluştur
     @PostMapping
     public Project createProject(@RequestBody Project project) {
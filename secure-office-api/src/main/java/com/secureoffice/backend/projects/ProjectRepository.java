@@ -1,6 +1,33 @@
 package com.secureoffice.backend.projects;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    // Toplu işlemlerde varlık kontrolü (tek IN sorgusu)
+    @Query("select p.id from Project p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // ETag kontrolü: sadece sayaç okunur (PK lookup)
+    @Query("select p.ticketsVersion from Project p where p.id = :id")
+    Optional<Long> findTicketsVersion(@Param("id") Long id);
+
+    // Native + ayrı query space: JPQL bulk update her ticket yazımında Project cache bölgesini tamamen boşaltırdı.
+    // Sayaç entity üzerinden okunmadığı için (findTicketsVersion) cache'teki Project'in eski sayacı sorun değil.
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "update projects set tickets_version = tickets_version + 1 where id in (:ids)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "projects_tickets_version"))
+    int bumpTicketsVersion(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
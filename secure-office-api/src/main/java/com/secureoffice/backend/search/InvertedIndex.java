@@ -0,0 +1,256 @@
+package com.secureoffice.backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Ticket başlık/açıklama/yorumları üzerinde artımlı güncellenen ters index.
+ * - terim -> (ticketId -> ağırlık) posting'leri; sıralı map sayesinde önek (prefix) araması alt-aralık okumasıdır
+ * - her ticket'ın hangi terimlere ne ağırlıkla katkı verdiği tutulur; güncelleme/silme eski katkıyı geri alır
+ * Thread-safe değildir, kilitleme {@link TicketSearchIndex}'te.
+ */
+final class InvertedIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int TEXT_WEIGHT = 1;
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    // Tek bir önek en fazla bu kadar terime açılır (ör. "a" skorlamada tüm sözlüğü gezmesin);
+    // alfabetik ilk terimler değil, en çok ticket'ta geçenler seçilir
+    static final int MAX_PREFIX_EXPANSION = 64;
+    private static final float EXACT_MATCH_BOOST = 2f;
+
+    private static final String[] NO_TERMS = new String[0];
+    private static final int[] NO_WEIGHTS = new int[0];
+
+    private final TreeMap<String, LongFloatHashMap> postings = new TreeMap<>();
+    private final HashMap<Long, Doc> docs = new HashMap<>();
+
+    private static final class Doc {
+        String[] fieldTerms = NO_TERMS;
+        int[] fieldWeights = NO_WEIGHTS;
+        String[] commentTerms = NO_TERMS;
+        int[] commentWeights = NO_WEIGHTS;
+        // Index'e girmiş yorum id'leri (değer kullanılmaz): tekrar teslim edilen (veya rebuild ile zaten okunmuş)
+        // yorum atlanır. Yorumlar id sırasıyla gelmez (küçük id'li transaction daha geç commit olabilir)
+        LongFloatHashMap commentIds;
+    }
+
+    record Hit(long ticketId, float score) {
+    }
+
+    int documentCount() {
+        return docs.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    // Başlık/açıklama değiştiyse eski katkı geri alınır, yenisi eklenir (yorum katkısı korunur)
+    void putTicket(long id, String title, String description) {
+        Doc doc = docs.computeIfAbsent(id, k -> new Doc());
+        apply(id, doc.fieldTerms, doc.fieldWeights, -1);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        collect(title, TITLE_WEIGHT, weights);
+        collect(description, TEXT_WEIGHT, weights);
+        doc.fieldTerms = weights.keySet().toArray(NO_TERMS);
+        doc.fieldWeights = weights.values().stream().mapToInt(Integer::intValue).toArray();
+        apply(id, doc.fieldTerms, doc.fieldWeights, 1);
+    }
+
+    void addComment(long id, long commentId, String text) {
+        Doc doc = docs.computeIfAbsent(id, k -> new Doc());
+        if (doc.commentIds == null) doc.commentIds = new LongFloatHashMap();
+        if (doc.commentIds.containsKey(commentId)) return;
+        doc.commentIds.put(commentId, 1f);
+
+        Map<String, Integer> added = new LinkedHashMap<>();
+        collect(text, TEXT_WEIGHT, added);
+        if (added.isEmpty()) return;
+
+        String[] newTerms = added.keySet().toArray(NO_TERMS);
+        int[] newWeights = added.values().stream().mapToInt(Integer::intValue).toArray();
+        apply(id, newTerms, newWeights, 1);
+
+        // Ticket'ın yorum katkısına ekle (silmede geri alabilmek için)
+        Map<String, Integer> merged = new LinkedHashMap<>();
+        for (int i = 0; i < doc.commentTerms.length; i++) merged.put(doc.commentTerms[i], doc.commentWeights[i]);
+        added.forEach((term, w) -> merged.merge(term, w, Integer::sum));
+        doc.commentTerms = merged.keySet().toArray(NO_TERMS);
+        doc.commentWeights = merged.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    void remove(long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) return;
+        apply(id, doc.fieldTerms, doc.fieldWeights, -1);
+        apply(id, doc.commentTerms, doc.commentWeights, -1);
+    }
+
+    /**
+     * Sorgudaki her kelime önek olarak eşleşir ve tüm kelimeler bulunmalıdır (AND).
+     * Skor: Σ ağırlık × idf; kelimenin kendisiyle birebir eşleşen terim ek puan alır.
+     * Süre eşleşen posting sayısıyla doğrusal (InvertedIndexBenchmark, 1 milyon ticket): seyrek kelime ~15 µs,
+     * ticket'ların üçte birinde geçen kelime ya da önek ~20-35 ms, iki önek ~25 ms. 1 ms altı hedefi yalnız seçici
+     * sorgularda tutuyor; sık kelimede tüm posting skorlanıyor (erken kesme yok: AND + önek + idf skoru bunu
+     * sıralı posting'ler olmadan güvenilir kılmıyor).
+     */
+    List<Hit> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) return List.of();
+
+        List<List<Map.Entry<String, LongFloatHashMap>>> expansions = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            List<Map.Entry<String, LongFloatHashMap>> terms = expand(token);
+            if (terms.isEmpty()) return List.of();
+            expansions.add(terms);
+        }
+
+        // En seçici kelimeyle başla: aday kümesi baştan küçük olsun
+        int first = 0;
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < expansions.size(); i++) {
+            long total = 0;
+            for (Map.Entry<String, LongFloatHashMap> e : expansions.get(i)) total += e.getValue().size();
+            if (total < best) {
+                best = total;
+                first = i;
+            }
+        }
+
+        int n = docs.size();
+        LongFloatHashMap initial = new LongFloatHashMap((int) Math.min(best, 1 << 20));
+        String firstToken = tokens.get(first);
+        for (Map.Entry<String, LongFloatHashMap> e : expansions.get(first)) {
+            float factor = idf(n, e.getValue().size()) * (e.getKey().equals(firstToken) ? EXACT_MATCH_BOOST : 1f);
+            e.getValue().forEach((id, w) -> initial.add(id, w * factor));
+        }
+
+        LongFloatHashMap scores = initial;
+        for (int t = 0; t < expansions.size() && !scores.isEmpty(); t++) {
+            if (t == first) continue;
+            String token = tokens.get(t);
+            List<Map.Entry<String, LongFloatHashMap>> terms = expansions.get(t);
+            long postingCount = 0;
+            for (Map.Entry<String, LongFloatHashMap> e : terms) postingCount += e.getValue().size();
+            if (postingCount < (long) scores.size() * terms.size()) {
+                // Aday başına her terimi yoklamak (önekte 64 terim) posting'leri bir kez gezmekten pahalı
+                LongFloatHashMap candidates = scores;
+                LongFloatHashMap next = new LongFloatHashMap((int) Math.min(postingCount, candidates.size()));
+                for (Map.Entry<String, LongFloatHashMap> e : terms) {
+                    float factor = idf(n, e.getValue().size()) * (e.getKey().equals(token) ? EXACT_MATCH_BOOST : 1f);
+                    e.getValue().forEach((id, w) -> {
+                        if (candidates.containsKey(id)) next.add(id, w * factor);
+                    });
+                }
+                next.forEach((id, extra) -> next.put(id, candidates.get(id) + extra));
+                scores = next;
+                continue;
+            }
+            LongFloatHashMap next = new LongFloatHashMap(scores.size());
+            scores.forEach((id, score) -> {
+                float extra = 0f;
+                for (Map.Entry<String, LongFloatHashMap> e : terms) {
+                    float w = e.getValue().get(id);
+                    if (w != 0f) {
+                        extra += w * idf(n, e.getValue().size()) * (e.getKey().equals(token) ? EXACT_MATCH_BOOST : 1f);
+                    }
+                }
+                if (extra != 0f) next.put(id, score + extra);
+            });
+            scores = next;
+        }
+
+        // Top-k: küçük bir min-heap, eşit skorda yeni (büyük id) önce
+        Comparator<Hit> order = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::ticketId);
+        PriorityQueue<Hit> heap = new PriorityQueue<>(limit + 1, order);
+        scores.forEach((id, score) -> {
+            if (heap.size() < limit) {
+                heap.add(new Hit(id, score));
+            } else if (order.compare(new Hit(id, score), heap.peek()) > 0) {
+                heap.poll();
+                heap.add(new Hit(id, score));
+            }
+        });
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(order.reversed());
+        return hits;
+    }
+
+    // Önekle başlayan terimler; fazlaysa kelimenin kendisi + doküman sayısı en yüksek olanlar
+    // (eşitlikte alfabetik). Aralık yine tamamı okunur ama terim başına sadece posting boyutuna bakılır
+    private List<Map.Entry<String, LongFloatHashMap>> expand(String prefix) {
+        NavigableMap<String, LongFloatHashMap> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.size() <= MAX_PREFIX_EXPANSION) return new ArrayList<>(range.entrySet());
+
+        Comparator<Map.Entry<String, LongFloatHashMap>> byFrequency =
+                Comparator.<Map.Entry<String, LongFloatHashMap>>comparingInt(e -> e.getValue().size())
+                        .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<String, LongFloatHashMap>> top = new PriorityQueue<>(MAX_PREFIX_EXPANSION + 1, byFrequency);
+        Map.Entry<String, LongFloatHashMap> exact = null;
+        for (Map.Entry<String, LongFloatHashMap> e : range.entrySet()) {
+            if (e.getKey().equals(prefix)) {
+                exact = e;
+                continue;
+            }
+            top.add(e);
+            if (top.size() > MAX_PREFIX_EXPANSION) top.poll();
+        }
+        if (exact != null) {
+            if (top.size() == MAX_PREFIX_EXPANSION) top.poll();
+            top.add(exact);
+        }
+        List<Map.Entry<String, LongFloatHashMap>> terms = new ArrayList<>(top);
+        return terms;
+    }
+
+    private static float idf(int documentCount, int documentFrequency) {
+        return (float) Math.log(1.0 + (double) documentCount / Math.max(1, documentFrequency));
+    }
+
+    private void apply(long id, String[] terms, int[] weights, int sign) {
+        for (int i = 0; i < terms.length; i++) {
+            if (sign > 0) {
+                postings.computeIfAbsent(terms[i], k -> new LongFloatHashMap()).add(id, weights[i]);
+            } else {
+                LongFloatHashMap p = postings.get(terms[i]);
+                if (p == null) continue;
+                p.add(id, -weights[i]);
+                if (p.isEmpty()) postings.remove(terms[i]);
+            }
+        }
+    }
+
+    private static void collect(String text, int weight, Map<String, Integer> into) {
+        for (String token : tokenize(text)) {
+            into.merge(token, weight, Integer::sum);
+        }
+    }
+
+    // Harf/rakam dışı her karakter ayırıcıdır; küçük harfe çevrilir (İ -> i dahil)
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (current.length() < MAX_TOKEN_LENGTH) current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                if (current.length() >= MIN_TOKEN_LENGTH) tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,149 @@
+package com.secureoffice.backend.search;
+
+import java.util.Arrays;
+
+/**
+ * long -> float açık adresli (linear probing) hash map.
+ * Posting listeleri milyonlarca kayıt tutabildiği için Long/Float kutulamadan kaçınıyoruz
+ * (HashMap<Long, Float> girdi başına ~80 byte, bu yapı ~12 byte).
+ * Thread-safe değildir; erişim {@link TicketSearchIndex} kilidi altında yapılır.
+ */
+final class LongFloatHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private float[] values;
+    private int size;
+    private int mask;
+
+    LongFloatHashMap() {
+        this(4);
+    }
+
+    LongFloatHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new float[capacity];
+        mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    float get(long key) {
+        int i = indexOf(key);
+        return i < 0 ? 0f : values[i];
+    }
+
+    boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    // Değeri delta kadar artırır; sonuç 0 olursa anahtar silinir
+    void add(long key, float delta) {
+        int i = slot(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                float v = values[i] + delta;
+                if (v == 0f) {
+                    removeAt(i);
+                } else {
+                    values[i] = v;
+                }
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        if (delta == 0f) return;
+        keys[i] = key;
+        values[i] = delta;
+        if (++size * 4 > keys.length * 3) {
+            resize(keys.length << 1);
+        }
+    }
+
+    void put(long key, float value) {
+        int i = slot(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 4 > keys.length * 3) {
+            resize(keys.length << 1);
+        }
+    }
+
+    void remove(long key) {
+        int i = indexOf(key);
+        if (i >= 0) removeAt(i);
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) visitor.accept(keys[i], values[i]);
+        }
+    }
+
+    interface Visitor {
+        void accept(long key, float value);
+    }
+
+    private int indexOf(long key) {
+        int i = slot(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    // Backward-shift silme: tombstone bırakmadan zinciri kapatır
+    private void removeAt(int i) {
+        size--;
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == EMPTY) break;
+            int home = slot(keys[j]);
+            // j'deki eleman gap'e taşınabilir mi? (home, gap..j döngüsel aralığının dışında olmalı)
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0f;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new float[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.secureoffice.backend.search;
+
+import com.secureoffice.backend.dto.response.TicketSummaryResponse;
+import com.secureoffice.backend.events.TicketEvent;
+import com.secureoffice.backend.events.TicketEventSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * JVM içinde çalışan ticket arama index'i (harici arama sunucusu yok).
+ * - Uygulama açılışında veritabanından baştan kurulur
+ * - Ticket olaylarıyla (outbox üzerinden, istek yolunun dışında) artımlı güncellenir
+ * - Okumalar paylaşımlı, yazmalar özel kilit altında (ReadWriteLock)
+ */
+@Component
+public class TicketSearchIndex implements TicketEventSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketSearchIndex.class);
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+
+    private InvertedIndex index = new InvertedIndex();
+    // Yeniden kurulum sürerken gelen değişiklikler; kurulum bitince yeni index'e tekrar uygulanır
+    private List<Consumer<InvertedIndex>> pendingDuringRebuild;
+
+    public TicketSearchIndex(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public void indexTicket(Long id, String title, String description) {
+        write(ix -> ix.putTicket(id, title, description));
+    }
+
+    public void addComment(Long ticketId, Long commentId, String text) {
+        write(ix -> ix.addComment(ticketId, commentId, text));
+    }
+
+    public void removeTicket(Long id) {
+        write(ix -> ix.remove(id));
+    }
+
+    // Olay gövdesi yoksa (toplu işlemler) metin veritabanından okunur; silinmişse index'ten de çıkar
+    @Override
+    public void onTicketEvent(TicketEvent event) {
+        switch (event.getType()) {
+            case TICKET_CREATED, TICKET_UPDATED -> {
+                TicketSummaryResponse t = event.getTicket();
+                if (t != null) {
+                    indexTicket(t.getId(), t.getTitle(), t.getDescription());
+                } else {
+                    List<String[]> rows = jdbcTemplate.query("select title, description from tickets where id = ?",
+                            (rs, i) -> new String[]{rs.getString(1), rs.getString(2)}, event.getTicketId());
+                    if (rows.isEmpty()) removeTicket(event.getTicketId());
+                    else indexTicket(event.getTicketId(), rows.get(0)[0], rows.get(0)[1]);
+                }
+            }
+            case COMMENT_ADDED -> addComment(event.getTicketId(), event.getComment().getId(), event.getComment().getText());
+            case TICKET_DELETED -> removeTicket(event.getTicketId());
+            case STATUS_CHANGED -> { } // Metin değişmez
+        }
+    }
+
+    // Skora göre sıralı ticket id'leri
+    public List<Long> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            List<InvertedIndex.Hit> hits = index.search(query, limit);
+            List<Long> ids = new ArrayList<>(hits.size());
+            for (InvertedIndex.Hit hit : hits) ids.add(hit.ticketId());
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex fresh = new InvertedIndex();
+        try {
+            // Satırlar cursor ile okunur, tüm tablo belleğe alınmaz
+            readOnlyTx.executeWithoutResult(status -> {
+                jdbcTemplate.query("select id, title, description from tickets",
+                        rs -> { fresh.putTicket(rs.getLong(1), rs.getString(2), rs.getString(3)); });
+                jdbcTemplate.query("select ticket_id, id, text from comments",
+                        rs -> { fresh.addComment(rs.getLong(1), rs.getLong(2), rs.getString(3)); });
+            });
+        } catch (RuntimeException e) {
+            // Eski index (artımlı değişikliklerle birlikte) kullanılmaya devam eder
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Arama index'i yeniden kurulamadı", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(fresh));
+            pendingDuringRebuild = null;
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Arama index'i kuruldu: {} ticket, {} terim, {} ms", fresh.documentCount(), fresh.termCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void write(Consumer<InvertedIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.secureoffice.backend.security;
+
+import com.secureoffice.backend.users.Role;
+import com.secureoffice.backend.users.User;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * İstek sahibinin kimliği: id, email ve rol adları token'dan gelir, kullanıcı tablosuna gidilmez.
+ * getName() email döner; Authentication.getName() kullanan eski kodlar aynen çalışır.
+ */
+public final class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    private final Long id;
+    private final String email;
+    private final Set<String> roles;
+
+    public AuthenticatedUser(Long id, String email, Set<String> roles) {
+        this.id = id;
+        this.email = email;
+        this.roles = Set.copyOf(roles);
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(),
+                user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
+    }
+
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+    public Set<String> getRoles() { return roles; }
+
+    public boolean isAdmin() {
+        return roles.contains(ROLE_ADMIN);
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
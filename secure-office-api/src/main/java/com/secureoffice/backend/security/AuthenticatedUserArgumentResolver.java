@@ -0,0 +1,48 @@
+package com.secureoffice.backend.security;
+
+import com.secureoffice.backend.users.UserRepository;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Controller metotlarına AuthenticatedUser parametresi verir.
+ * JWT filtresinin kurduğu principal doğrudan döner (sorgu yok; eski token'ların kullanıcısını filtre çözer).
+ * Başka kimlik doğrulama yolları (ör. testlerdeki mock kullanıcı) için kullanıcı email ile bir kez çözülür.
+ */
+@Component
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserRepository userRepository;
+
+    public AuthenticatedUserArgumentResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthenticatedUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public AuthenticatedUser resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                             NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Oturum bulunamadı");
+        }
+        if (auth.getPrincipal() instanceof AuthenticatedUser user && user.getId() != null) {
+            return user;
+        }
+        return userRepository.findByEmailIgnoreCase(auth.getName())
+                .map(AuthenticatedUser::of)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Kullanıcı bulunamadı"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.secureoffice.backend.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * String anahtarlar için sabit boyutlu Bloom filtresi.
+ * mightContain false ise anahtar kesin yok; true ise belki var (kesin cevap için ayrıca bakılmalı).
+ * Eleman silinemez; süresi geçenleri atmak için filtre yeniden kurulur.
+ * Okuma kilitsiz, ekleme thread-safe (bit'ler CAS ile set edilir).
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final int numBits;
+    private final int numHashes;
+
+    private BloomFilter(int numBits, int numHashes) {
+        this.words = new AtomicLongArray((numBits + 63) >>> 6);
+        this.numBits = words.length() << 6;
+        this.numHashes = numHashes;
+    }
+
+    /** expectedEntries eleman eklendiğinde yanlış pozitif oranı yaklaşık fpp olacak şekilde boyutlanır. */
+    static BloomFilter create(int expectedEntries, double fpp) {
+        int n = Math.max(1, expectedEntries);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-n * Math.log(fpp) / (ln2 * ln2));
+        int numBits = (int) Math.min(Math.max(bits, 64), Integer.MAX_VALUE - 63);
+        int numHashes = Math.max(1, (int) Math.round((double) numBits / n * ln2));
+        return new BloomFilter(numBits, numHashes);
+    }
+
+    void put(String key) {
+        long h = hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = index(h1 + i * h2);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) break;
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String key) {
+        long h = hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    private int index(int combined) {
+        // Çift hash (Kirsch–Mitzenmacher): k hash tek 64 bit özetten türetilir
+        return (combined & Integer.MAX_VALUE) % numBits;
+    }
+
+    // FNV-1a + murmur3 fmix64: kısa anahtarlarda da bitler iyi dağılır
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
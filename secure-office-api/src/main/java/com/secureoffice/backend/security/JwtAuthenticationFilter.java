@@ -1,27 +1,56 @@
 package com.secureoffice.backend.security;
 
+import com.secureoffice.backend.monitoring.LatencyTimers;
+import com.secureoffice.backend.monitoring.LogRateLimiter;
+import com.secureoffice.backend.users.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    // Bozuk/süresi dolmuş token seli log seline dönmesin: 10 saniyede en fazla 5 satır, gerisi sayılır
+    private static final LogRateLimiter BAD_TOKEN_LOGS = new LogRateLimiter(5, Duration.ofSeconds(10));
+
     private final JwtService jwtService;
+    private final TokenRevocationList revocationList;
+    private final UserRepository userRepository;
+    // Token'lı isteklerde doğrulamanın süresi (zincirin geri kalanı hariç), sonuca göre
+    private final Timer validTimer;
+    private final Timer revokedTimer;
+    private final Timer invalidTimer;
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    public JwtAuthenticationFilter(JwtService jwtService, TokenRevocationList revocationList,
+                                   UserRepository userRepository, MeterRegistry registry) {
         this.jwtService = jwtService;
+        this.revocationList = revocationList;
+        this.userRepository = userRepository;
+        this.validTimer = filterTimer(registry, "valid");
+        this.revokedTimer = filterTimer(registry, "revoked");
+        this.invalidTimer = filterTimer(registry, "invalid");
+    }
+
+    private static Timer filterTimer(MeterRegistry registry, String result) {
+        return LatencyTimers.register(registry, "security.jwt.filter", "JWT doğrulama süresi", "result", result);
     }
 
     @Override
@@ -38,27 +67,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        long start = System.nanoTime();
         try {
-            final String token = auth.substring(7).trim();
+            // Tek doğrulama (tekrar gelen token cache'ten); claim'ler buradan okunur
+            Claims claims = jwtService.verify(auth.substring(7).trim());
 
-            // Token geçerli mi kontrolü
-            if (jwtService.isTokenValid(token)) {
-                String email = jwtService.extractSubject(token);
+            // Cache'ten gelen token için de bakılır: çıkış/kullanıcı silme hemen etkili olur
+            if (revocationList.isRevoked(claims)) {
+                long suppressed = BAD_TOKEN_LOGS.tryAcquire();
+                if (suppressed >= 0) {
+                    log.warn("İptal edilmiş JWT: {} ({} benzer kayıt bastırıldı)", claims.getSubject(), suppressed);
+                }
+                revokedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-                // Kullanıcıyı context'e ekle
-                var authentication = new UsernamePasswordAuthenticationToken(
-                        email,
-                        null,
-                        List.of(new SimpleGrantedAuthority("ROLE_USER")) // Burayı ilerde DB'den çekeceğiz
-                );
+            // Kullanıcıyı context'e ekle: id ve roller token'dan, veritabanına gidilmez.
+            // uid/rol claim'i olmayan eski token: kullanıcı burada bir kez çözülür; yetki kontrolü ve
+            // controller'lar (AuthenticatedUserArgumentResolver) aynı principal'ı, aynı rollerle görür
+            AuthenticatedUser principal = jwtService.toPrincipal(claims);
+            if (principal.getId() == null || principal.getRoles().isEmpty()) {
+                principal = userRepository.findByEmailIgnoreCase(claims.getSubject())
+                        .map(AuthenticatedUser::of)
+                        .orElseThrow(() -> new JwtException("Token'ın kullanıcısı yok: " + claims.getSubject()));
+            }
+            var authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Token süresi dolmuş, bozuk vs. Hatayı yut: zincir devam etsin ki Public sayfalar açılabilsin.
+            long suppressed = BAD_TOKEN_LOGS.tryAcquire();
+            if (suppressed >= 0) {
+                log.warn("Geçersiz JWT: {} ({} benzer kayıt bastırıldı)", e.getMessage(), suppressed);
             }
-        } catch (Exception e) {
-            // HATA OLUŞSA BİLE (Token süresi dolmuş, bozuk vs.)
-            // Log bas ama hatayı yut. Zincir devam etsin ki Public sayfalar açılabilsin.
-            System.out.println("JWT Filter Hatası (Önemli değil): " + e.getMessage());
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
         filterChain.doFilter(request, response);
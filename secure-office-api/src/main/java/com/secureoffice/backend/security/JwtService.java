@@ -1,63 +1,120 @@
 package com.secureoffice.backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.time.Clock;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
-    private final Key key;
+    // Yetki kararları için gereken her şey token'da: istek başına kullanıcı sorgusu yok
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLES = "roles";
+
+    private final SecretKey key;
     private final long accessMinutes;
+    private final Clock clock;
+    // Thread-safe; her çağrıda yeniden kurulmaz
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokens;
 
+    @Autowired
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.access-minutes:30}") long accessMinutes
+            @Value("${app.jwt.access-minutes:30}") long accessMinutes,
+            @Value("${app.jwt.verified-cache-size:10000}") int verifiedCacheSize
     ) {
+        this(secret, accessMinutes, verifiedCacheSize, Clock.systemUTC());
+    }
+
+    JwtService(String secret, long accessMinutes, int verifiedCacheSize, Clock clock) {
         if (secret == null || secret.length() < 32) {
             throw new IllegalArgumentException("app.jwt.secret must be at least 32 characters");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessMinutes = accessMinutes;
+        this.clock = clock;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        this.verifiedTokens = new VerifiedTokenCache(verifiedCacheSize, clock);
     }
 
-    public String createAccessToken(String subjectEmail) {
-        Instant now = Instant.now();
+    public String createAccessToken(AuthenticatedUser user) {
+        Instant now = clock.instant();
         Instant exp = now.plusSeconds(accessMinutes * 60);
 
         return Jwts.builder()
-                .subject(subjectEmail)
+                .id(UUID.randomUUID().toString()) // jti: tek token'ı iptal edebilmek için (TokenRevocationList)
+                .subject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLES, user.getRoles())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
                 .signWith(key)
                 .compact();
     }
 
+    /**
+     * İmzayı ve süreyi doğrulayıp claim'leri döner; geçersizse JwtException.
+     * Daha önce doğrulanmış ve süresi dolmamış token'da imza kontrolü tekrarlanmaz.
+     */
+    public Claims verify(String token) {
+        Claims cached = verifiedTokens.get(token);
+        if (cached != null) return cached;
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        verifiedTokens.put(token, claims);
+        return claims;
+    }
+
+    /**
+     * Doğrulanmış claim'lerden principal. uid claim'i olmayan (bu sürümden önce üretilmiş) token'larda
+     * id null ve rol yok döner; bu durumda kullanıcı email ile çözülür (bkz. AuthenticatedUserArgumentResolver).
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Number uid = claims.get(CLAIM_USER_ID, Number.class);
+        Set<String> roles = new LinkedHashSet<>();
+        if (claims.get(CLAIM_ROLES) instanceof Collection<?> names) {
+            names.forEach(n -> roles.add(String.valueOf(n)));
+        }
+        return new AuthenticatedUser(uid != null ? uid.longValue() : null, claims.getSubject(), roles);
+    }
+
+    // Çıkışta: iptal edilen token'ın claim'leri cache'te boşuna yer tutmasın
+    public void forget(String token) {
+        verifiedTokens.invalidate(token);
+    }
+
     public String extractSubject(String token) {
-        return parseAllClaims(token).getSubject();
+        return verify(token).getSubject();
     }
 
     public boolean isTokenValid(String token) {
         try {
-            parseAllClaims(token);
+            verify(token);
             return true;
-        } catch (Exception e) {
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
-    private Claims parseAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((javax.crypto.SecretKey) key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    int verifiedCacheSize() {
+        return verifiedTokens.size();
     }
 }
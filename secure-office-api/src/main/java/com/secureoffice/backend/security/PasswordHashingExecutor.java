@@ -0,0 +1,150 @@
+package com.secureoffice.backend.security;
+
+import com.secureoffice.backend.dto.response.PasswordHashingStatsResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt işleri (kayıt, giriş) Tomcat thread'lerinde değil, çekirdek sayısı kadar thread'lik ayrı bir havuzda çalışır.
+ * - Aynı anda en fazla `threads` hash hesaplanır; giriş patlaması CPU'yu ticket trafiğinden çalamaz
+ * - Kuyruk sınırlı: doluysa beklemeden 429 + Retry-After döner (istek thread'leri kuyrukta birikmez)
+ * - Kuyruk derinliği, ret sayısı ve hash süresi GET /api/v1/monitoring/password-hashing'de
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    // $2a$10$... -> 10
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int bcryptStrength;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor pool;
+    private final int queueCapacity;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong lastNanos = new AtomicLong();
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   @Value("${app.security.bcrypt-strength:10}") int bcryptStrength,
+                                   @Value("${app.security.password-hashing.threads:0}") int threads,
+                                   @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.bcryptStrength = bcryptStrength;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.queueCapacity = queueCapacity;
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger n = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /** Hash farklı bir cost ile üretildiyse true (cost artırıldı veya düşürüldü): girişte yeniden hash'lenir. */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) return false;
+        Matcher m = BCRYPT_COST.matcher(encodedPassword);
+        return m.find() && Integer.parseInt(m.group(1)) != bcryptStrength;
+    }
+
+    public PasswordHashingStatsResponse stats() {
+        long count = completed.sum();
+        return new PasswordHashingStatsResponse(
+                pool.getMaximumPoolSize(), pool.getActiveCount(), pool.getQueue().size(), queueCapacity,
+                count, rejected.sum(), bcryptStrength,
+                count == 0 ? 0 : nanosToMillis(totalNanos.sum() / count),
+                nanosToMillis(maxNanos.get()), nanosToMillis(lastNanos.get()));
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    long took = System.nanoTime() - start;
+                    completed.increment();
+                    totalNanos.add(took);
+                    maxNanos.accumulate(took);
+                    lastNanos.set(took);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingBusyException(retryAfterSeconds);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "İstek iptal edildi");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /** Havuz ve kuyruk dolu: 429, istemci Retry-After kadar bekleyip tekrar denemeli. */
+    public static final class HashingBusyException extends ResponseStatusException {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        HashingBusyException(long retryAfterSeconds) {
+            super(HttpStatus.TOO_MANY_REQUESTS, "Çok fazla giriş isteği, lütfen biraz sonra tekrar deneyin");
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.secureoffice.backend.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,21 +15,28 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
+import java.util.List;
+
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtFilter;
+    private final AuthenticatedUserArgumentResolver authenticatedUserResolver;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtFilter,
+                          AuthenticatedUserArgumentResolver authenticatedUserResolver) {
         this.jwtFilter = jwtFilter;
+        this.authenticatedUserResolver = authenticatedUserResolver;
     }
 
+    // Cost değişirse eski hash'ler girişte yeni cost ile yeniden üretilir (PasswordHashingExecutor.needsRehash)
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     // --- BU KISIM EKLENDİ (Frontend React'e izin veriyoruz) ---
@@ -40,8 +49,15 @@ public class SecurityConfig {
                         .allowedOrigins("http://localhost:5173", "http://localhost:3000") // Vite ve React portları
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                         .allowedHeaders("*")
+                        .exposedHeaders("ETag") // koşullu GET (If-None-Match) için istemci okuyabilmeli
                         .allowCredentials(true);
             }
+
+            // Controller'larda AuthenticatedUser parametresi (token'daki id/roller)
+            @Override
+            public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+                resolvers.add(authenticatedUserResolver);
+            }
         };
     }
     // ----------------------------------------------------------
@@ -53,9 +69,13 @@ public class SecurityConfig {
                 .cors(org.springframework.security.config.Customizer.withDefaults()) // CORS Aktif
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // SSE/streaming cevaplarının async dispatch'i: yetki ilk istekte kontrol edildi
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/health").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Preflight isteklerine izin ver
+                        // Metrikler (Prometheus scrape): sadece admin token'ı ile
+                        .requestMatchers("/actuator/**").hasAuthority(AuthenticatedUser.ROLE_ADMIN)
                         .anyRequest().authenticated()
                 )
                 .httpBasic(h -> h.disable())
@@ -0,0 +1,42 @@
+package com.secureoffice.backend.security;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * İptal edilmiş access token (jti) veya kullanıcının belirli bir andan önce aldığı tüm token'lar.
+ * Kalıcı kopya: yeniden başlatmada ve diğer instance'larda TokenRevocationList buradan yüklenir.
+ * expires_at geçince kayıt anlamsızdır (o ana kadar ilgili token'ların süresi zaten dolmuştur) ve silinir.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = {
+        // Süresi geçenlerin temizliği ve canlı kayıtların yüklenmesi
+        @Index(name = "idx_token_revocations_expires_at", columnList = "expires_at")
+})
+public class TokenRevocation {
+
+    // "jti:<uuid>" veya "uid:<kullanıcı id>"
+    @Id
+    @Column(name = "revocation_key", length = 80)
+    private String key;
+
+    @Column(name = "revoked_at", nullable = false)
+    private OffsetDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    protected TokenRevocation() {
+    }
+
+    public TokenRevocation(String key, OffsetDateTime revokedAt, OffsetDateTime expiresAt) {
+        this.key = key;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getKey() { return key; }
+    public OffsetDateTime getRevokedAt() { return revokedAt; }
+    public OffsetDateTime getExpiresAt() { return expiresAt; }
+}
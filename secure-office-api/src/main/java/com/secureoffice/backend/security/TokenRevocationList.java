@@ -0,0 +1,192 @@
+package com.secureoffice.backend.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * İptal edilmiş access token'lar (çıkış) ve kullanıcı bazlı iptaller (kullanıcı silme).
+ * - Her istekte önce Bloom filtresine bakılır: iptal edilmemiş token'ların neredeyse hepsi burada,
+ *   birkaç bit okumasıyla geçer; filtre "belki" derse kesin cevap map'ten alınır (yanlış pozitif iptal sayılmaz)
+ * - Kayıtlar token_revocations tablosuna da yazılır; açılışta ve sync-seconds aralıkla oradan yüklenir
+ *   (yeniden başlatma ve diğer instance'lar), süresi geçenler atılıp filtre yeniden kurulur
+ * - Kayıt sadece ilgili token'ların süresi dolana kadar tutulur; bu yüzden liste küçük kalır
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private record Revocation(long revokedAtMillis, long expiresAtMillis) {
+        Revocation later(Revocation other) {
+            return new Revocation(Math.max(revokedAtMillis, other.revokedAtMillis),
+                    Math.max(expiresAtMillis, other.expiresAtMillis));
+        }
+    }
+
+    private final TokenRevocationRepository repository;
+    private final Clock clock;
+    private final long accessTtlMillis;
+    private final int expectedEntries;
+    private final ConcurrentHashMap<String, Revocation> exact = new ConcurrentHashMap<>();
+    // Filtre değişiklikleri (ekleme, yeniden kurma) bu kilit altında; okuma kilitsiz.
+    // synchronized değil: virtual thread'de çalışan istek kilidi beklerken carrier'ı bırakabilsin
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter bloom;
+    private int bloomCapacity;
+    private final ScheduledExecutorService sync;
+
+    @Autowired
+    public TokenRevocationList(TokenRevocationRepository repository,
+                               @Value("${app.jwt.access-minutes:30}") long accessMinutes,
+                               @Value("${app.jwt.revocation.expected-entries:10000}") int expectedEntries,
+                               @Value("${app.jwt.revocation.sync-seconds:30}") long syncSeconds) {
+        this(repository, accessMinutes, expectedEntries, syncSeconds, Clock.systemUTC());
+    }
+
+    TokenRevocationList(TokenRevocationRepository repository, long accessMinutes, int expectedEntries,
+                        long syncSeconds, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+        this.accessTtlMillis = TimeUnit.MINUTES.toMillis(accessMinutes);
+        this.expectedEntries = expectedEntries;
+        sync();
+        if (syncSeconds > 0) {
+            this.sync = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "token-revocation-sync");
+                t.setDaemon(true);
+                return t;
+            });
+            this.sync.scheduleWithFixedDelay(this::syncQuietly, syncSeconds, syncSeconds, TimeUnit.SECONDS);
+        } else {
+            this.sync = null;
+        }
+    }
+
+    /** Token (jti) veya sahibinin tüm token'ları iptal edildiyse true. */
+    public boolean isRevoked(Claims claims) {
+        BloomFilter b = bloom;
+        long now = clock.millis();
+        String jti = claims.getId();
+        if (jti != null) {
+            String key = tokenKey(jti);
+            if (b.mightContain(key) && isLive(exact.get(key), now)) return true;
+        }
+        Number uid = claims.get(JwtService.CLAIM_USER_ID, Number.class);
+        if (uid != null) {
+            String key = userKey(uid.longValue());
+            if (b.mightContain(key)) {
+                Revocation r = exact.get(key);
+                Date issuedAt = claims.getIssuedAt();
+                // iat saniye hassasiyetinde: iptal anıyla aynı saniyede verilenler de düşer
+                return isLive(r, now) && (issuedAt == null || issuedAt.getTime() <= r.revokedAtMillis);
+            }
+        }
+        return false;
+    }
+
+    /** Tek token'ı (çıkış) süresi dolana kadar reddet. jti'siz eski token'lar yalnızca kullanıcı bazlı iptal edilebilir. */
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) return;
+        add(tokenKey(claims.getId()), clock.millis(), claims.getExpiration().getTime());
+    }
+
+    /** Kullanıcının şu ana kadar aldığı tüm access token'ları reddet (kullanıcı silindi vb.). */
+    public void revokeUser(Long userId) {
+        long now = clock.millis();
+        add(userKey(userId), now, now + accessTtlMillis);
+    }
+
+    int size() {
+        return exact.size();
+    }
+
+    // Önce kalıcı kayıt: sync yeniden kurarken tablodan okuduğu haliyle de bu kayıt kaybolmaz
+    private void add(String key, long revokedAt, long expiresAt) {
+        repository.save(new TokenRevocation(key, toTime(revokedAt), toTime(expiresAt)));
+        writeLock.lock();
+        try {
+            exact.merge(key, new Revocation(revokedAt, expiresAt), Revocation::later);
+            // Map'e yazıldıktan sonra filtreye: filtrede görünen anahtar map'te de vardır
+            if (exact.size() > bloomCapacity) {
+                rebuild();
+            } else {
+                bloom.put(key);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void sync() {
+        long now = clock.millis();
+        var live = repository.findLive(toTime(now));
+        repository.deleteExpired(toTime(now));
+        writeLock.lock();
+        try {
+            for (TokenRevocation r : live) {
+                exact.merge(r.getKey(), new Revocation(r.getRevokedAt().toInstant().toEpochMilli(),
+                        r.getExpiresAt().toInstant().toEpochMilli()), Revocation::later);
+            }
+            exact.values().removeIf(r -> !isLive(r, now));
+            rebuild();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            // Veritabanı geçici olarak yoksa eldeki liste kullanılmaya devam eder
+            log.warn("Token iptal listesi senkronize edilemedi: {}", e.getMessage());
+        }
+    }
+
+    // writeLock altında çağrılır
+    private void rebuild() {
+        bloomCapacity = Math.max(expectedEntries, exact.size() * 2);
+        BloomFilter next = BloomFilter.create(bloomCapacity, FALSE_POSITIVE_RATE);
+        exact.keySet().forEach(next::put);
+        bloom = next;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (sync != null) sync.shutdownNow();
+    }
+
+    private static boolean isLive(Revocation r, long now) {
+        return r != null && r.expiresAtMillis > now;
+    }
+
+    private static String tokenKey(String jti) {
+        return "jti:" + jti;
+    }
+
+    private static String userKey(long userId) {
+        return "uid:" + userId;
+    }
+
+    private static OffsetDateTime toTime(long millis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
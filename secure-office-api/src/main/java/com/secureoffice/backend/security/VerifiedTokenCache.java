@@ -0,0 +1,83 @@
+package com.secureoffice.backend.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * İmzası doğrulanmış token'ların claim'leri. Aynı token'la gelen sonraki istekler imza kontrolü ve JSON çözümlemesi yapmaz.
+ * - Anahtar token'ın SHA-256 özeti (ham token bellekte tutulmaz)
+ * - Kayıt token'ın exp anına kadar geçerli, sonra okunurken düşer
+ * - Boyut sınırlı: doluysa önce süresi geçenler temizlenir, yine yer yoksa yeni token cache'lenmez (doğrulama yine çalışır)
+ */
+final class VerifiedTokenCache {
+
+    private record Digest(long a, long b, long c, long d) {
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final ConcurrentHashMap<Digest, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Clock clock;
+
+    VerifiedTokenCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    Claims get(String token) {
+        Digest key = digest(token);
+        Entry e = entries.get(key);
+        if (e == null) return null;
+        if (e.expiresAtMillis <= clock.millis()) {
+            entries.remove(key, e);
+            return null;
+        }
+        return e.claims;
+    }
+
+    void put(String token, Claims claims) {
+        Date exp = claims.getExpiration();
+        if (exp == null || maxSize <= 0) return; // Süresiz token'ı cache'te tutmuyoruz
+        if (entries.size() >= maxSize) {
+            evictExpired();
+            if (entries.size() >= maxSize) return;
+        }
+        entries.put(digest(token), new Entry(claims, exp.getTime()));
+    }
+
+    void invalidate(String token) {
+        entries.remove(digest(token));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictExpired() {
+        long now = clock.millis();
+        entries.values().removeIf(e -> e.expiresAtMillis <= now);
+    }
+
+    private static Digest digest(String token) {
+        MessageDigest md = SHA256.get();
+        ByteBuffer h = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new Digest(h.getLong(), h.getLong(), h.getLong(), h.getLong());
+    }
+}
@@ -1,37 +1,51 @@
 package com.secureoffice.backend.tickets;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.secureoffice.backend.users.User;
 import jakarta.persistence.*;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // Yorum sayfalama: ticket içinde (created_at, id) sırası
+        @Index(name = "idx_comments_ticket_created_at_id", columnList = "ticket_id, created_at, id")
+})
 public class Comment {
 
+    // id üretimi Ticket ile aynı (pooled sequence)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
     private String text;
 
-    @CreationTimestamp
+    @Column(name = "created_at")
     private LocalDateTime createdAt; // Otomatik tarih atar
 
     // Hangi Kullanıcı Yazdı?
-    @ManyToOne
+    // Okumalar CommentResponse projeksiyonu ile yapılıyor, entity üzerinden yazar yüklenmez
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User createdBy;
 
     // Hangi Göreve Yazıldı?
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ticket_id", nullable = false)
     @JsonIgnore // Sonsuz döngü olmasın diye ticket detayını JSON'a koymuyoruz
     private Ticket ticket;
 
+    // Cursor karşılaştırmaları için veritabanı hassasiyetinde (mikrosaniye)
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     // --- Getter & Setter ---
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,47 @@
+package com.secureoffice.backend.tickets;
+
+import com.secureoffice.backend.dto.response.CommentResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Yorum sayfalarının (createdAt, id) konumu; {@link TicketCursor} ile aynı biçim.
+ * Yön (eskiden yeniye / yeniden eskiye) cursor'a değil isteğe aittir.
+ */
+public final class CommentCursor {
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public CommentCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static CommentCursor of(CommentResponse c) {
+        return new CommentCursor(c.getCreatedAt(), c.getId());
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getId() { return id; }
+
+    public String encode() {
+        String raw = createdAt.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new CommentCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Geçersiz cursor");
+        }
+    }
+}
@@ -1,9 +1,49 @@
 package com.secureoffice.backend.tickets;
 
+import com.secureoffice.backend.dto.response.CommentResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    // Bir göreve ait yorumları getir (Tarihe göre eskiden yeniye)
-    List<Comment> findByTicketIdOrderByCreatedAtAsc(Long ticketId);
-}
\ No newline at end of file
+
+    // Yorum + yazar adı tek SQL'de (User entity'si ve rolleri yüklenmez)
+    String COMMENT_SELECT = """
+    select new com.secureoffice.backend.dto.response.CommentResponse(
+        c.id, c.text, c.createdAt, u.id, u.firstName, u.lastName)
+    from Comment c
+    join c.createdBy u
+  """;
+
+    // Eskiden yeniye (keyset, (ticket_id, created_at, id) index'i)
+    @Query(COMMENT_SELECT + "where c.ticket.id = :ticketId order by c.createdAt asc, c.id asc")
+    List<CommentResponse> findOldestFirst(@Param("ticketId") Long ticketId, Limit limit);
+
+    @Query(COMMENT_SELECT + """
+    where c.ticket.id = :ticketId
+      and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id))
+    order by c.createdAt asc, c.id asc
+  """)
+    List<CommentResponse> findOldestFirstAfter(@Param("ticketId") Long ticketId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    // Yeniden eskiye
+    @Query(COMMENT_SELECT + "where c.ticket.id = :ticketId order by c.createdAt desc, c.id desc")
+    List<CommentResponse> findNewestFirst(@Param("ticketId") Long ticketId, Limit limit);
+
+    @Query(COMMENT_SELECT + """
+    where c.ticket.id = :ticketId
+      and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id))
+    order by c.createdAt desc, c.id desc
+  """)
+    List<CommentResponse> findNewestFirstAfter(@Param("ticketId") Long ticketId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Limit limit);
+}
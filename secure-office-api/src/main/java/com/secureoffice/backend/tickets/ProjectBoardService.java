@@ -0,0 +1,93 @@
+package com.secureoffice.backend.tickets;
+
+import com.secureoffice.backend.dto.response.CursorPage;
+import com.secureoffice.backend.dto.response.ProjectBoardResponse;
+import com.secureoffice.backend.dto.response.ProjectBoardResponse.BoardColumn;
+import com.secureoffice.backend.dto.response.TicketSummaryResponse;
+import com.secureoffice.backend.dto.response.UserSummaryResponse;
+import com.secureoffice.backend.projects.Project;
+import com.secureoffice.backend.projects.ProjectRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kanban ekranının tek istekte ihtiyaç duyduğu her şey.
+ * Sorgu sayısı ticket sayısından bağımsızdır: proje + durum sayıları + dolu her kolon için bir sayfa.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProjectBoardService {
+
+    public static final int DEFAULT_PER_COLUMN = 20;
+
+    private final TicketRepository ticketRepository;
+    private final ProjectRepository projectRepository;
+
+    public ProjectBoardService(TicketRepository ticketRepository, ProjectRepository projectRepository) {
+        this.ticketRepository = ticketRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    public ProjectBoardResponse getBoard(Long projectId, Integer perColumn) {
+        int size = perColumn == null ? DEFAULT_PER_COLUMN : TicketService.clampLimit(perColumn);
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Proje bulunamadı"));
+
+        Map<TicketStatus, Long> counts = new EnumMap<>(TicketStatus.class);
+        for (Object[] row : ticketRepository.countByStatusForProject(projectId)) {
+            counts.put((TicketStatus) row[0], (Long) row[1]);
+        }
+
+        List<BoardColumn> columns = new ArrayList<>();
+        Map<Long, UserSummaryResponse> users = new LinkedHashMap<>();
+        for (TicketStatus status : TicketStatus.values()) {
+            long count = counts.getOrDefault(status, 0L);
+            // Boş kolon için sorgu atmaya gerek yok
+            CursorPage<TicketSummaryResponse> page = count == 0
+                    ? new CursorPage<>(List.of(), null)
+                    : TicketService.toPage(ticketRepository.findFirstPageByProjectAndStatus(projectId, status, Limit.of(size + 1)), size);
+            for (TicketSummaryResponse t : page.getItems()) {
+                collectUser(users, t.getCreatedBy());
+                collectUser(users, t.getAssignedTo());
+            }
+            columns.add(new BoardColumn(status, count, page.getItems(), page.getNextCursor()));
+        }
+
+        return new ProjectBoardResponse(project.getId(), project.getName(), project.getDescription(),
+                columns, new ArrayList<>(users.values()));
+    }
+
+    // Board, projenin ticket sayacını paylaşır (TicketService.getProjectTicketsETag ile aynı kaynak)
+    public String getBoardETag(Long projectId) {
+        return projectRepository.findTicketsVersion(projectId)
+                .map(v -> "b" + projectId + "-v" + v)
+                .orElse(null);
+    }
+
+    // Kolonun devamı: board cevabındaki nextCursor ile
+    public CursorPage<TicketSummaryResponse> getColumnPage(Long projectId, String status, String cursor, Integer limit) {
+        TicketStatus parsed = TicketService.parseStatus(status);
+        int size = TicketService.clampLimit(limit);
+        List<TicketSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = ticketRepository.findFirstPageByProjectAndStatus(projectId, parsed, Limit.of(size + 1));
+        } else {
+            TicketCursor c = TicketCursor.decode(cursor);
+            rows = ticketRepository.findPageByProjectAndStatusAfter(projectId, parsed, c.getCreatedAt(), c.getId(), Limit.of(size + 1));
+        }
+        return TicketService.toPage(rows, size);
+    }
+
+    private static void collectUser(Map<Long, UserSummaryResponse> users, UserSummaryResponse user) {
+        if (user != null) users.putIfAbsent(user.getId(), user);
+    }
+}
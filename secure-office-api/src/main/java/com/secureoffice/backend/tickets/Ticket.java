@@ -5,11 +5,24 @@ import com.secureoffice.backend.users.User;
 import com.secureoffice.backend.projects.Project;
 import jakarta.persistence.*;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        // Keyset sayfalama index'leri (OFFSET yerine (created_at, id) üzerinden ilerliyoruz)
+        @Index(name = "idx_tickets_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tickets_project_created_at_id", columnList = "project_id, created_at, id"),
+        // Board kolonları: proje + durum içinde aynı sırayla
+        @Index(name = "idx_tickets_project_status_created_at_id", columnList = "project_id, status, created_at, id"),
+        // "Benim görevlerim": UNION'ın iki kolu
+        @Index(name = "idx_tickets_created_by_created_at_id", columnList = "created_by, created_at, id"),
+        @Index(name = "idx_tickets_assigned_to_created_at_id", columnList = "assigned_to, created_at, id")
+})
 public class Ticket {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY insert batch'lemeyi engeller; pooled sequence ile 50 id tek seferde alınır
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -25,16 +38,17 @@ public class Ticket {
     @Enumerated(EnumType.STRING)
     private TicketPriority priority = TicketPriority.MEDIUM;
 
-    @ManyToOne(optional = false)
+    // İlişkiler LAZY: listeler TicketSummaryResponse projeksiyonu ile okunuyor, entity grafı yüklenmiyor
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "created_by")
     private User createdBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to")
     private User assignedTo;
 
     // YENİ: Proje İlişkisi
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // Hata önleyici
     private Project project;
@@ -45,16 +59,32 @@ public class Ticket {
     @Column(name = "updated_at", nullable = false)
     private OffsetDateTime updatedAt;
 
+    // Yorum aktivitesi ticket satırında tutulur; kartlar comments tablosuna gitmeden gösterebilsin.
+    // Sadece TicketRepository.recordComment ile (atomik UPDATE) değişir; entity kaydı bu kolonlara yazmaz,
+    // yoksa yüklendikten sonra gelen yorumların sayacı eski değerle ezilirdi.
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    private int commentCount;
+
+    @Column(name = "last_comment_at", insertable = false, updatable = false)
+    private OffsetDateTime lastCommentAt;
+
+    // Olay sırası: sadece TicketEventPublisher artırır (outbox satırının ticket_seq'i), entity kaydı yazmaz
+    @Column(name = "event_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long eventVersion;
+
+    // Veritabanı mikrosaniye saklıyor; bellekteki değer de aynı olsun ki cursor karşılaştırmaları tutarlı kalsın
     @PrePersist
     void onCreate() {
-        var now = OffsetDateTime.now();
+        var now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         createdAt = now;
         updatedAt = now;
     }
 
     @PreUpdate
     void onUpdate() {
-        updatedAt = OffsetDateTime.now();
+        updatedAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     // --- Getter ve Setterlar ---
@@ -78,4 +108,7 @@ public class Ticket {
 
     public OffsetDateTime getCreatedAt() { return createdAt; }
     public OffsetDateTime getUpdatedAt() { return updatedAt; }
+
+    public int getCommentCount() { return commentCount; }
+    public OffsetDateTime getLastCommentAt() { return lastCommentAt; }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.secureoffice.backend.tickets;
+
+import com.secureoffice.backend.dto.request.BatchTicketOperation;
+import com.secureoffice.backend.dto.request.BatchTicketRequest;
+import com.secureoffice.backend.dto.response.BatchTicketResponse;
+import com.secureoffice.backend.dto.response.BatchTicketResponse.BatchItemResult;
+import com.secureoffice.backend.events.TicketEvent;
+import com.secureoffice.backend.events.TicketEventPublisher;
+import com.secureoffice.backend.events.TicketEventType;
+import com.secureoffice.backend.history.TicketHistoryService;
+import com.secureoffice.backend.projects.ProjectRepository;
+import com.secureoffice.backend.security.AuthenticatedUser;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Entegrasyonlar için toplu ticket işlemleri (POST /api/v1/tickets/batch).
+ * Tüm kalemler tek transaction'da çalışır; kullanıcı, proje ve ticket referansları kalem başına değil
+ * toplu IN sorgularıyla bir kez çözülür. Insert/update'ler commit'teki flush'ta JDBC batch olarak gider.
+ * Hatalı bir kalem diğerlerini geri almaz; sonucu kendi index'iyle raporlanır.
+ */
+@Service
+public class TicketBatchService {
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final TicketEventPublisher eventPublisher;
+    private final TicketHistoryService ticketHistoryService;
+
+    public TicketBatchService(TicketRepository ticketRepository,
+                              UserRepository userRepository,
+                              ProjectRepository projectRepository,
+                              TicketEventPublisher eventPublisher,
+                              TicketHistoryService ticketHistoryService) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.eventPublisher = eventPublisher;
+        this.ticketHistoryService = ticketHistoryService;
+    }
+
+    @Transactional
+    public BatchTicketResponse apply(BatchTicketRequest req, AuthenticatedUser user) {
+        // Kimlik ve roller token'dan; kullanıcı satırı yüklenmez
+        User currentUser = userRepository.getReferenceById(user.getId());
+        boolean admin = user.isAdmin();
+        List<BatchTicketOperation> ops = req.getOperations();
+
+        // 1. Referansları topla ve toplu çöz
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> ticketIds = new HashSet<>();
+        for (BatchTicketOperation op : ops) {
+            if (op.getAssignedToUserId() != null) userIds.add(op.getAssignedToUserId());
+            if (op.getOp() == BatchTicketOperation.Type.CREATE) {
+                if (op.getProjectId() != null) projectIds.add(op.getProjectId());
+            } else if (op.getTicketId() != null) {
+                ticketIds.add(op.getTicketId());
+            }
+        }
+        Set<Long> existingUsers = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+        Set<Long> existingProjects = projectIds.isEmpty() ? Set.of() : new HashSet<>(projectRepository.findExistingIds(projectIds));
+        Map<Long, Ticket> tickets = ticketIds.isEmpty() ? Map.of() : ticketRepository.findAllById(ticketIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+        // 2. Kalemleri sırayla uygula
+        List<BatchItemResult> results = new ArrayList<>(ops.size());
+        Set<Long> touchedProjects = new HashSet<>();
+        for (int i = 0; i < ops.size(); i++) {
+            BatchTicketOperation op = ops.get(i);
+            try {
+                BatchItemResult result = switch (op.getOp()) {
+                    case CREATE -> create(i, op, currentUser, existingUsers, existingProjects);
+                    case UPDATE_STATUS -> updateStatus(i, op, currentUser, admin, tickets);
+                    case REASSIGN -> reassign(i, op, currentUser, admin, tickets, existingUsers);
+                };
+                results.add(result);
+                Long projectId = projectOf(op, tickets);
+                if (projectId != null) touchedProjects.add(projectId);
+                // Outbox'a aynı transaction'da yazılır; gövde yok, aboneler ticketId ile okur
+                eventPublisher.publish(new TicketEvent(eventType(op), projectId, result.getTicketId(), null, null));
+            } catch (ResponseStatusException e) {
+                results.add(BatchItemResult.failed(i, e.getStatusCode().value(), op.getTicketId(), e.getReason()));
+            }
+        }
+
+        // 3. Etkilenen projelerin ETag sayaçları (aynı transaction, proje başına bir kez)
+        if (!touchedProjects.isEmpty()) projectRepository.bumpTicketsVersion(touchedProjects);
+        return new BatchTicketResponse(results);
+    }
+
+    private static Long projectOf(BatchTicketOperation op, Map<Long, Ticket> tickets) {
+        if (op.getOp() == BatchTicketOperation.Type.CREATE) return op.getProjectId();
+        Ticket t = tickets.get(op.getTicketId());
+        return t != null && t.getProject() != null ? t.getProject().getId() : null;
+    }
+
+    private static TicketEventType eventType(BatchTicketOperation op) {
+        return switch (op.getOp()) {
+            case CREATE -> TicketEventType.TICKET_CREATED;
+            case UPDATE_STATUS -> TicketEventType.STATUS_CHANGED;
+            case REASSIGN -> TicketEventType.TICKET_UPDATED;
+        };
+    }
+
+    private BatchItemResult create(int index, BatchTicketOperation op, User currentUser,
+                                   Set<Long> existingUsers, Set<Long> existingProjects) {
+        if (op.getTitle() == null || op.getTitle().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Başlık boş olamaz");
+        }
+        Ticket t = new Ticket();
+        t.setTitle(op.getTitle());
+        t.setDescription(op.getDescription());
+        t.setStatus(TicketStatus.OPEN);
+        t.setPriority(TicketPriority.parseOrDefault(op.getPriority(), TicketPriority.MEDIUM));
+        t.setCreatedBy(currentUser);
+
+        if (op.getAssignedToUserId() != null) {
+            if (!existingUsers.contains(op.getAssignedToUserId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Atanacak kullanıcı bulunamadı");
+            }
+            t.setAssignedTo(userRepository.getReferenceById(op.getAssignedToUserId()));
+        } else {
+            t.setAssignedTo(currentUser);
+        }
+
+        if (op.getProjectId() != null) {
+            if (!existingProjects.contains(op.getProjectId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Proje bulunamadı");
+            }
+            t.setProject(projectRepository.getReferenceById(op.getProjectId()));
+        }
+
+        // persist id'yi sequence havuzundan hemen verir; INSERT commit'te batch olarak gider
+        Ticket saved = ticketRepository.save(t);
+        return BatchItemResult.ok(index, HttpStatus.CREATED.value(), saved.getId());
+    }
+
+    private BatchItemResult updateStatus(int index, BatchTicketOperation op, User currentUser, boolean admin,
+                                         Map<Long, Ticket> tickets) {
+        Ticket t = requireTicket(op, tickets);
+        if (!TicketPermissions.canEdit(t, currentUser.getId(), admin)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Bu görevi taşıma yetkiniz yok.");
+        }
+        TicketHistoryService.Snapshot before = TicketHistoryService.snapshot(t);
+        t.setStatus(TicketService.parseStatus(op.getStatus()));
+        ticketHistoryService.recordChanges(before, t, currentUser.getId());
+        return BatchItemResult.ok(index, HttpStatus.OK.value(), t.getId());
+    }
+
+    private BatchItemResult reassign(int index, BatchTicketOperation op, User currentUser, boolean admin,
+                                     Map<Long, Ticket> tickets, Set<Long> existingUsers) {
+        Ticket t = requireTicket(op, tickets);
+        if (!TicketPermissions.canManage(t, currentUser.getId(), admin)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Görevi başkasına devretme yetkiniz yok.");
+        }
+        if (op.getAssignedToUserId() == null || !existingUsers.contains(op.getAssignedToUserId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Kullanıcı bulunamadı");
+        }
+        TicketHistoryService.Snapshot before = TicketHistoryService.snapshot(t);
+        t.setAssignedTo(userRepository.getReferenceById(op.getAssignedToUserId()));
+        ticketHistoryService.recordChanges(before, t, currentUser.getId());
+        return BatchItemResult.ok(index, HttpStatus.OK.value(), t.getId());
+    }
+
+    private Ticket requireTicket(BatchTicketOperation op, Map<Long, Ticket> tickets) {
+        if (op.getTicketId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ticketId boş olamaz");
+        }
+        Ticket t = tickets.get(op.getTicketId());
+        if (t == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Görev bulunamadı");
+        }
+        return t;
+    }
+}
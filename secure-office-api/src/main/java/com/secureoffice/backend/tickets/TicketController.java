@@ -1,11 +1,24 @@
 package com.secureoffice.backend.tickets;
 
 import com.secureoffice.backend.dto.request.*;
+import com.secureoffice.backend.dto.response.BatchTicketResponse;
+import com.secureoffice.backend.dto.response.CommentResponse;
+import com.secureoffice.backend.dto.response.CursorPage;
+import com.secureoffice.backend.dto.response.TicketHistoryResponse;
+import com.secureoffice.backend.dto.response.TicketSummaryResponse;
+import com.secureoffice.backend.history.TicketHistoryService;
+import com.secureoffice.backend.security.AuthenticatedUser;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -13,56 +26,126 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketExportService ticketExportService;
+    private final TicketBatchService ticketBatchService;
+    private final TicketHistoryService ticketHistoryService;
 
     // Artık Repository'leri değil, sadece Service'i çağırıyoruz
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService,
+                            TicketExportService ticketExportService,
+                            TicketBatchService ticketBatchService,
+                            TicketHistoryService ticketHistoryService) {
         this.ticketService = ticketService;
+        this.ticketExportService = ticketExportService;
+        this.ticketBatchService = ticketBatchService;
+        this.ticketHistoryService = ticketHistoryService;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Ticket create(@Valid @RequestBody CreateTicketRequest req, Authentication auth) {
-        return ticketService.createTicket(req, auth.getName());
+    public TicketSummaryResponse create(@Valid @RequestBody CreateTicketRequest req, AuthenticatedUser user) {
+        return TicketSummaryResponse.from(ticketService.createTicket(req, user));
     }
 
+    // Toplu oluşturma / statü / atama. Cevapta her kalemin sonucu istekteki sırayla döner.
+    @PostMapping("/batch")
+    public BatchTicketResponse batch(@Valid @RequestBody BatchTicketRequest req, AuthenticatedUser user) {
+        return ticketBatchService.apply(req, user);
+    }
+
+    // Sayfalı: ?cursor=...&limit=50 (nextCursor bir sonraki isteğe aynen verilir)
     @GetMapping("/project/{projectId}")
-    public List<Ticket> getTicketsByProject(@PathVariable Long projectId) {
-        return ticketService.getTicketsByProject(projectId);
+    public CursorPage<TicketSummaryResponse> getTicketsByProject(@PathVariable Long projectId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  WebRequest request) {
+        String etag = ticketService.getProjectTicketsETag(projectId);
+        if (etag != null && request.checkNotModified(etag)) return null;
+        return ticketService.getTicketsByProject(projectId, cursor, limit);
     }
 
     @GetMapping
-    public List<Ticket> listMine() {
-        return ticketService.getAllTickets();
+    public CursorPage<TicketSummaryResponse> listAll(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        return ticketService.getAllTickets(cursor, limit);
+    }
+
+    // Benim görevlerim: oluşturduğum veya bana atananlar, sayfalı
+    @GetMapping("/mine")
+    public CursorPage<TicketSummaryResponse> listMine(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      AuthenticatedUser user) {
+        return ticketService.getMyTickets(user, cursor, limit);
+    }
+
+    // Tam metin arama: başlık, açıklama ve yorumlarda önek eşleşmesi, skora göre sıralı
+    @GetMapping("/search")
+    public List<TicketSummaryResponse> search(@RequestParam String q,
+                                              @RequestParam(required = false) Integer limit) {
+        return ticketService.searchTickets(q, limit);
+    }
+
+    // Raporlama: ?format=ndjson (varsayılan) veya ?format=csv. Gövde veritabanından okunurken yazılır.
+    // Admin olmayan kullanıcı yalnız kendi oluşturduğu / kendisine atanan ticketları alır
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        AuthenticatedUser user) {
+        return switch (format.toLowerCase()) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets.ndjson\"")
+                    .body(out -> ticketExportService.writeNdjson(out, user));
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets.csv\"")
+                    .body(out -> ticketExportService.writeCsv(out, user));
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Desteklenmeyen format: " + format);
+        };
     }
 
+    // Koşullu GET: ETag tutuyorsa 304 (cevap hiç üretilmez)
     @GetMapping("/{id}")
-    public Ticket getOne(@PathVariable Long id) {
+    public TicketSummaryResponse getOne(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(ticketService.getTicketETag(id))) return null;
         return ticketService.getTicketById(id);
     }
 
     @PutMapping("/{id}")
-    public Ticket update(@PathVariable Long id, @RequestBody UpdateTicketRequest req, Authentication auth) {
-        return ticketService.updateTicket(id, req, auth.getName());
+    public TicketSummaryResponse update(@PathVariable Long id, @RequestBody UpdateTicketRequest req, AuthenticatedUser user) {
+        return TicketSummaryResponse.from(ticketService.updateTicket(id, req, user));
     }
 
     @PatchMapping("/{id}/status")
-    public Ticket updateStatus(@PathVariable Long id, @Valid @RequestBody UpdateStatusRequest req, Authentication auth) {
-        return ticketService.updateStatus(id, req, auth.getName());
+    public TicketSummaryResponse updateStatus(@PathVariable Long id, @Valid @RequestBody UpdateStatusRequest req, AuthenticatedUser user) {
+        return TicketSummaryResponse.from(ticketService.updateStatus(id, req, user));
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id, Authentication auth) {
-        ticketService.deleteTicket(id, auth.getName());
+    public void delete(@PathVariable Long id, AuthenticatedUser user) {
+        ticketService.deleteTicket(id, user);
     }
 
     @GetMapping("/{id}/comments")
-    public List<Comment> getComments(@PathVariable Long id) {
-        return ticketService.getComments(id);
+    public CursorPage<CommentResponse> getComments(@PathVariable Long id,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) String order,
+                                                   WebRequest request) {
+        if (request.checkNotModified(ticketService.getCommentsETag(id))) return null;
+        return ticketService.getComments(id, cursor, limit, order);
+    }
+
+    // Alan değişiklik geçmişi, yeniden eskiye: ?cursor=...&limit=50
+    @GetMapping("/{id}/history")
+    public CursorPage<TicketHistoryResponse> getHistory(@PathVariable Long id,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        return ticketHistoryService.getHistory(id, cursor, limit);
     }
 
     @PostMapping("/{id}/comments")
-    public Comment addComment(@PathVariable Long id, @RequestBody CreateCommentRequest req, Authentication auth) {
-        return ticketService.addComment(id, req, auth.getName());
+    public CommentResponse addComment(@PathVariable Long id, @RequestBody CreateCommentRequest req, AuthenticatedUser user) {
+        return ticketService.addComment(id, req, user);
     }
 }
\ No newline at end of file
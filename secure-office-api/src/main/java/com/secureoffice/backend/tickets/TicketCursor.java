@@ -0,0 +1,48 @@
+package com.secureoffice.backend.tickets;
+
+import com.secureoffice.backend.dto.response.TicketSummaryResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * (createdAt, id) ikilisini istemciye opak bir string olarak taşır.
+ * Sayfa sırası "createdAt desc, id desc" olduğu için bir sonraki sayfa bu ikiliden küçük kayıtlardır.
+ */
+public final class TicketCursor {
+
+    private final OffsetDateTime createdAt;
+    private final Long id;
+
+    public TicketCursor(OffsetDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static TicketCursor of(TicketSummaryResponse t) {
+        return new TicketCursor(t.getCreatedAt(), t.getId());
+    }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public Long getId() { return id; }
+
+    public String encode() {
+        String raw = createdAt.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Bozuk cursor -> 400 (istemci hatası)
+    public static TicketCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new TicketCursor(OffsetDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Geçersiz cursor");
+        }
+    }
+}
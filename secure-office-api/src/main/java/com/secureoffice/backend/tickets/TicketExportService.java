@@ -0,0 +1,172 @@
+package com.secureoffice.backend.tickets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureoffice.backend.security.AuthenticatedUser;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+
+/**
+ * Raporlama için ticket dışa aktarımı.
+ * Kayıtlar JDBC cursor'ı ile FETCH_SIZE'lık parçalar halinde okunup satır satır yazılır;
+ * hiçbir noktada tüm liste bellekte tutulmaz (1k da 5M da olsa heap sabit kalır).
+ * Admin tüm ticketları, diğer kullanıcılar yalnız oluşturdukları veya kendilerine atananları alır.
+ */
+@Service
+public class TicketExportService {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final String SELECT = """
+            select id, title, description, status, priority, project_id,
+                   created_by, assigned_to, created_at, updated_at
+            from tickets
+            """;
+    private static final String EXPORT_ALL_SQL = SELECT + "order by id";
+    private static final String EXPORT_OWN_SQL = SELECT + "where created_by = ? or assigned_to = ? order by id";
+
+    private static final String CSV_HEADER =
+            "id,title,description,status,priority,projectId,createdById,assignedToId,createdAt,updatedAt\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    public TicketExportService(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper) {
+        // Paylaşılan JdbcTemplate'e dokunmamak için fetch size'lı ayrı bir örnek
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        // PostgreSQL sürücüsü fetch size'ı sadece autocommit kapalıyken (transaction içinde) uygular
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    // Her satır ayrı bir JSON nesnesi (application/x-ndjson)
+    public void writeNdjson(OutputStream out, AuthenticatedUser user) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.setRootValueSeparator(null);
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            streamRows(user, rs -> {
+                try {
+                    gen.writeStartObject();
+                    gen.writeNumberField("id", rs.getLong("id"));
+                    gen.writeStringField("title", rs.getString("title"));
+                    gen.writeStringField("description", rs.getString("description"));
+                    gen.writeStringField("status", rs.getString("status"));
+                    gen.writeStringField("priority", rs.getString("priority"));
+                    writeNullableLong(gen, "projectId", rs, "project_id");
+                    writeNullableLong(gen, "createdById", rs, "created_by");
+                    writeNullableLong(gen, "assignedToId", rs, "assigned_to");
+                    gen.writeStringField("createdAt", timestamp(rs, "created_at"));
+                    gen.writeStringField("updatedAt", timestamp(rs, "updated_at"));
+                    gen.writeEndObject();
+                    gen.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void writeCsv(OutputStream out, AuthenticatedUser user) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            writer.write(CSV_HEADER);
+            streamRows(user, rs -> {
+                try {
+                    writer.write(Long.toString(rs.getLong("id")));
+                    writer.write(',');
+                    writeCsvField(writer, rs.getString("title"));
+                    writer.write(',');
+                    writeCsvField(writer, rs.getString("description"));
+                    writer.write(',');
+                    writeCsvField(writer, rs.getString("status"));
+                    writer.write(',');
+                    writeCsvField(writer, rs.getString("priority"));
+                    writer.write(',');
+                    writeCsvField(writer, nullableLong(rs, "project_id"));
+                    writer.write(',');
+                    writeCsvField(writer, nullableLong(rs, "created_by"));
+                    writer.write(',');
+                    writeCsvField(writer, nullableLong(rs, "assigned_to"));
+                    writer.write(',');
+                    writeCsvField(writer, timestamp(rs, "created_at"));
+                    writer.write(',');
+                    writeCsvField(writer, timestamp(rs, "updated_at"));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void streamRows(AuthenticatedUser user, RowCallbackHandler handler) {
+        readOnlyTx.executeWithoutResult(status -> {
+            if (user.isAdmin()) {
+                jdbcTemplate.query(EXPORT_ALL_SQL, handler);
+            } else {
+                jdbcTemplate.query(EXPORT_OWN_SQL, handler, user.getId(), user.getId());
+            }
+        });
+    }
+
+    private static void writeNullableLong(JsonGenerator gen, String field, ResultSet rs, String column)
+            throws SQLException, IOException {
+        long value = rs.getLong(column);
+        if (rs.wasNull()) {
+            gen.writeNullField(field);
+        } else {
+            gen.writeNumberField(field, value);
+        }
+    }
+
+    private static String nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : Long.toString(value);
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+        return value == null ? null : value.toString();
+    }
+
+    // RFC 4180: virgül, tırnak veya satır sonu içeren alanlar tırnağa alınır.
+    // = + - @ ile başlayan metin tablo programında formül olarak çalışmasın diye ' ile başlatılır
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) return;
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) value = "'" + value;
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,30 @@
+package com.secureoffice.backend.tickets;
+
+/**
+ * Ticket yetki kuralları tek yerde:
+ * - düzenleme / statü değişikliği: admin, oluşturan veya atanan kişi
+ * - silme / başkasına devretme: admin veya oluşturan
+ * Lazy proxy üzerinde getId() çağrısı kullanıcıyı yüklemez, bu yüzden bu kontroller ek sorgu üretmez.
+ * Admin bilgisi token'daki rollerden gelir (AuthenticatedUser.isAdmin()).
+ */
+final class TicketPermissions {
+
+    private TicketPermissions() {
+    }
+
+    static boolean isCreator(Ticket t, Long userId) {
+        return t.getCreatedBy().getId().equals(userId);
+    }
+
+    static boolean isAssignee(Ticket t, Long userId) {
+        return t.getAssignedTo() != null && t.getAssignedTo().getId().equals(userId);
+    }
+
+    static boolean canEdit(Ticket t, Long userId, boolean admin) {
+        return admin || isCreator(t, userId) || isAssignee(t, userId);
+    }
+
+    static boolean canManage(Ticket t, Long userId, boolean admin) {
+        return admin || isCreator(t, userId);
+    }
+}
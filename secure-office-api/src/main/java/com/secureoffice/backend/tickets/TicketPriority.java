@@ -3,5 +3,15 @@ package com.secureoffice.backend.tickets;
 public enum TicketPriority {
     LOW,
     MEDIUM,
-    HIGH
+    HIGH;
+
+    // Boş veya tanınmayan değer -> varsayılan (istek reddedilmez)
+    public static TicketPriority parseOrDefault(String value, TicketPriority fallback) {
+        if (value == null || value.isBlank()) return fallback;
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
 }
@@ -1,22 +1,144 @@
 package com.secureoffice.backend.tickets;
 
+import com.secureoffice.backend.dto.response.TicketSummaryResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
-    // 1. Kullanıcının dahil olduğu ticketlar
-    @Query("""
-    select t from Ticket t
-    where lower(t.createdBy.email) = lower(:email)
-       or (t.assignedTo is not null and lower(t.assignedTo.email) = lower(:email))
-    order by t.createdAt desc
+    // Liste/detay okumaları için ortak projeksiyon: tek SQL, sadece id ve görünen adlar
+    String SUMMARY_SELECT = """
+    select new com.secureoffice.backend.dto.response.TicketSummaryResponse(
+        t.id, t.title, t.description, t.status, t.priority,
+        p.id, p.name,
+        cb.id, cb.firstName, cb.lastName,
+        a.id, a.firstName, a.lastName,
+        t.createdAt, t.updatedAt, t.commentCount, t.lastCommentAt)
+    from Ticket t
+    join t.createdBy cb
+    left join t.assignedTo a
+    left join t.project p
+  """;
+
+    // 1. Kullanıcının oluşturduğu veya atandığı ticketların sayfası (sadece id'ler, özetler ayrıca IN ile).
+    // OR yerine UNION: her kol kendi (created_by|assigned_to, created_at, id) index'inden en fazla :limit satır okur,
+    // birleşim de en fazla 2 * :limit satır üzerinden sıralanır. UNION kendisine atanmış kendi ticket'ını tekilleştirir.
+    @Query(nativeQuery = true, value = """
+    select x.id from (
+        (select t.id, t.created_at from tickets t
+         where t.created_by = :userId
+         order by t.created_at desc, t.id desc limit :limit)
+        union
+        (select t.id, t.created_at from tickets t
+         where t.assigned_to = :userId
+         order by t.created_at desc, t.id desc limit :limit)
+    ) x
+    order by x.created_at desc, x.id desc
+    limit :limit
+  """)
+    List<Long> findFirstPageIdsForUser(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = """
+    select x.id from (
+        (select t.id, t.created_at from tickets t
+         where t.created_by = :userId
+           and (t.created_at < :createdAt or (t.created_at = :createdAt and t.id < :id))
+         order by t.created_at desc, t.id desc limit :limit)
+        union
+        (select t.id, t.created_at from tickets t
+         where t.assigned_to = :userId
+           and (t.created_at < :createdAt or (t.created_at = :createdAt and t.id < :id))
+         order by t.created_at desc, t.id desc limit :limit)
+    ) x
+    order by x.created_at desc, x.id desc
+    limit :limit
+  """)
+    List<Long> findPageIdsForUserAfter(@Param("userId") Long userId,
+                                       @Param("createdAt") OffsetDateTime createdAt,
+                                       @Param("id") Long id,
+                                       @Param("limit") int limit);
+
+    // 2. Keyset sayfalama: OFFSET yok, (created_at, id) index'i üzerinden sıradaki N kayıt okunur.
+    @Query(SUMMARY_SELECT + "order by t.createdAt desc, t.id desc")
+    List<TicketSummaryResponse> findFirstPage(Limit limit);
+
+    @Query(SUMMARY_SELECT + """
+    where t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)
+    order by t.createdAt desc, t.id desc
   """)
-    List<Ticket> findVisibleForUserEmail(@Param("email") String email);
+    List<TicketSummaryResponse> findPageAfter(@Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // 3. Bir projeye ait ticketlar (aynı keyset mantığı)
+    @Query(SUMMARY_SELECT + "where p.id = :projectId order by t.createdAt desc, t.id desc")
+    List<TicketSummaryResponse> findFirstPageByProject(@Param("projectId") Long projectId, Limit limit);
+
+    @Query(SUMMARY_SELECT + """
+    where p.id = :projectId
+      and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id))
+    order by t.createdAt desc, t.id desc
+  """)
+    List<TicketSummaryResponse> findPageByProjectAfter(@Param("projectId") Long projectId,
+                                                       @Param("createdAt") OffsetDateTime createdAt,
+                                                       @Param("id") Long id,
+                                                       Limit limit);
+
+    // Board kolonu: proje + durum içinde keyset
+    @Query(SUMMARY_SELECT + "where p.id = :projectId and t.status = :status order by t.createdAt desc, t.id desc")
+    List<TicketSummaryResponse> findFirstPageByProjectAndStatus(@Param("projectId") Long projectId,
+                                                                @Param("status") TicketStatus status,
+                                                                Limit limit);
+
+    @Query(SUMMARY_SELECT + """
+    where p.id = :projectId and t.status = :status
+      and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id))
+    order by t.createdAt desc, t.id desc
+  """)
+    List<TicketSummaryResponse> findPageByProjectAndStatusAfter(@Param("projectId") Long projectId,
+                                                                @Param("status") TicketStatus status,
+                                                                @Param("createdAt") OffsetDateTime createdAt,
+                                                                @Param("id") Long id,
+                                                                Limit limit);
+
+    // Kolon başlıklarındaki sayılar: tek GROUP BY sorgusu
+    @Query("select t.status, count(t) from Ticket t where t.project.id = :projectId group by t.status")
+    List<Object[]> countByStatusForProject(@Param("projectId") Long projectId);
+
+    // 4. Detay
+    @Query(SUMMARY_SELECT + "where t.id = :id")
+    Optional<TicketSummaryResponse> findSummaryById(@Param("id") Long id);
+
+    // Arama sonuçlarını doldurmak için (sıra çağıran tarafta korunur)
+    @Query(SUMMARY_SELECT + "where t.id in :ids")
+    List<TicketSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ETag kontrolü: entity grafı yüklenmeden tek PK lookup
+    interface VersionView {
+        OffsetDateTime getUpdatedAt();
+        int getCommentCount();
+    }
+
+    @Query("select t.updatedAt as updatedAt, t.commentCount as commentCount from Ticket t where t.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
+
+    // Ticket'ı yüklemeden projesini bulmak için (yorum eklerken)
+    @Query("select t.project.id from Ticket t where t.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    // Yorum sayacı: okuma-yazma yerine tek atomik UPDATE (eşzamanlı yorumlarda artış kaybolmaz)
+    @Modifying
+    @Query("update Ticket t set t.commentCount = t.commentCount + 1, t.lastCommentAt = :at where t.id = :id")
+    int recordComment(@Param("id") Long id, @Param("at") OffsetDateTime at);
 
-    // 2. YENİ: Bir Projeye ait ticketları getir
-    List<Ticket> findByProjectId(Long projectId);
-}
\ No newline at end of file
+    // Yazma işlemleri için: ilişkiler lazy, burada tek join ile birlikte yüklüyoruz
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo", "project"})
+    Optional<Ticket> findWithDetailsById(Long id);
+}
@@ -1,38 +1,68 @@
 package com.secureoffice.backend.tickets;
 
 import com.secureoffice.backend.dto.request.*;
+import com.secureoffice.backend.dto.response.CommentResponse;
+import com.secureoffice.backend.dto.response.CursorPage;
+import com.secureoffice.backend.dto.response.TicketSummaryResponse;
+import com.secureoffice.backend.events.TicketEvent;
+import com.secureoffice.backend.events.TicketEventPublisher;
+import com.secureoffice.backend.events.TicketEventType;
+import com.secureoffice.backend.history.TicketHistoryService;
 import com.secureoffice.backend.projects.Project;
 import com.secureoffice.backend.projects.ProjectRepository;
+import com.secureoffice.backend.search.TicketSearchIndex;
+import com.secureoffice.backend.security.AuthenticatedUser;
 import com.secureoffice.backend.users.User;
 import com.secureoffice.backend.users.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TicketService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final CommentRepository commentRepository;
+    private final TicketSearchIndex ticketSearchIndex;
+    private final TicketEventPublisher eventPublisher;
+    private final TicketHistoryService ticketHistoryService;
 
     public TicketService(TicketRepository ticketRepository,
                          UserRepository userRepository,
                          ProjectRepository projectRepository,
-                         CommentRepository commentRepository) {
+                         CommentRepository commentRepository,
+                         TicketSearchIndex ticketSearchIndex,
+                         TicketEventPublisher eventPublisher,
+                         TicketHistoryService ticketHistoryService) {
         this.ticketRepository = ticketRepository;
         this.userRepository = userRepository;
         this.projectRepository = projectRepository;
         this.commentRepository = commentRepository;
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.ticketHistoryService = ticketHistoryService;
     }
 
     // --- YARDIMCI METODLAR ---
-    private User getUserByEmail(String email) {
-        return userRepository.findByEmailIgnoreCase(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Kullanıcı bulunamadı"));
+    // Kimlik token'dan geliyor; ilişki için sorgusuz referans yeterli
+    private User userRef(AuthenticatedUser user) {
+        return userRepository.getReferenceById(user.getId());
     }
 
     private Ticket getTicketOrThrow(Long id) {
@@ -40,14 +70,77 @@ public class TicketService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Görev bulunamadı"));
     }
 
-    private boolean isAdmin(User user) {
-        return user.getRoles().stream().anyMatch(r -> r.getName().equals("ROLE_ADMIN"));
+    // Cevapta kullanıcı/proje adları da döneceği için ilişkileri tek sorguda getir
+    private Ticket getTicketWithDetailsOrThrow(Long id) {
+        return ticketRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Görev bulunamadı"));
+    }
+
+    // --- ETag'ler: değişiklik yoksa 304 dönebilmek için cevabı üretmeden hesaplanır ---
+    // Okuma metotları readOnly: replica tanımlıysa oradan okunur (ReplicaRoutingDataSource)
+
+    // Detay: updatedAt her alan değişikliğinde, commentCount yorum eklenince değişir
+    @Transactional(readOnly = true)
+    public String getTicketETag(Long id) {
+        TicketRepository.VersionView v = ticketRepository.findVersionById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Görev bulunamadı"));
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, v.getUpdatedAt().toInstant());
+        return "t" + id + "-" + micros + "-c" + v.getCommentCount();
+    }
+
+    // Yorumlar sadece eklenebildiği için sayaç yeterli
+    @Transactional(readOnly = true)
+    public String getCommentsETag(Long ticketId) {
+        TicketRepository.VersionView v = ticketRepository.findVersionById(ticketId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Görev bulunamadı"));
+        return "c" + ticketId + "-" + v.getCommentCount();
+    }
+
+    // Proje listesi/board: projedeki her ticket/yorum yazımında artan sayaç. Proje yoksa null (ETag'siz cevap)
+    @Transactional(readOnly = true)
+    public String getProjectTicketsETag(Long projectId) {
+        return projectRepository.findTicketsVersion(projectId)
+                .map(v -> "p" + projectId + "-v" + v)
+                .orElse(null);
+    }
+
+    // Veri yazıldıktan sonra çağrılır: sayaç eski veriyle eşleşecek şekilde önden artmamalı
+    private void touchProject(Project p) {
+        if (p != null) projectRepository.bumpTicketsVersion(List.of(p.getId()));
+    }
+
+    // Bir fazlasını çekip sonraki sayfa var mı anlıyoruz (count sorgusu yok)
+    static CursorPage<TicketSummaryResponse> toPage(List<TicketSummaryResponse> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TicketSummaryResponse> items = rows.subList(0, limit);
+        return new CursorPage<>(items, TicketCursor.of(items.get(limit - 1)).encode());
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) return DEFAULT_PAGE_SIZE;
+        if (limit < 1) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit en az 1 olmalı");
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    static TicketStatus parseStatus(String status) {
+        if (status == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Geçersiz durum (status)");
+        }
+        try {
+            return TicketStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Geçersiz durum (status)");
+        }
     }
 
     // --- İŞ MANTIĞI (BUSINESS LOGIC) ---
 
-    public Ticket createTicket(CreateTicketRequest req, String userEmail) {
-        User currentUser = getUserByEmail(userEmail);
+    // Yazma metotları transaction içinde: ticket, proje sayacı ve outbox olayı birlikte commit olur
+    @Transactional
+    public Ticket createTicket(CreateTicketRequest req, AuthenticatedUser user) {
+        User currentUser = userRef(user);
 
         Ticket t = new Ticket();
         t.setTitle(req.getTitle());
@@ -65,15 +158,7 @@ public class TicketService {
         }
 
         // Öncelik Mantığı
-        if (req.getPriority() != null && !req.getPriority().isBlank()) {
-            try {
-                t.setPriority(TicketPriority.valueOf(req.getPriority().toUpperCase()));
-            } catch (IllegalArgumentException e) {
-                t.setPriority(TicketPriority.MEDIUM);
-            }
-        } else {
-            t.setPriority(TicketPriority.MEDIUM);
-        }
+        t.setPriority(TicketPriority.parseOrDefault(req.getPriority(), TicketPriority.MEDIUM));
 
         // Proje Bağlama
         if (req.getProjectId() != null) {
@@ -82,48 +167,96 @@ public class TicketService {
             t.setProject(p);
         }
 
-        return ticketRepository.save(t);
+        Ticket saved = ticketRepository.save(t);
+        touchProject(saved.getProject());
+        eventPublisher.publish(TicketEvent.of(TicketEventType.TICKET_CREATED, TicketSummaryResponse.from(saved)));
+        return saved;
     }
 
-    public List<Ticket> getTicketsByProject(Long projectId) {
-        return ticketRepository.findByProjectId(projectId);
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSummaryResponse> getTicketsByProject(Long projectId, String cursor, Integer limit) {
+        int size = clampLimit(limit);
+        List<TicketSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = ticketRepository.findFirstPageByProject(projectId, Limit.of(size + 1));
+        } else {
+            TicketCursor c = TicketCursor.decode(cursor);
+            rows = ticketRepository.findPageByProjectAfter(projectId, c.getCreatedAt(), c.getId(), Limit.of(size + 1));
+        }
+        return toPage(rows, size);
     }
 
-    public List<Ticket> getAllTickets() {
-        return ticketRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSummaryResponse> getAllTickets(String cursor, Integer limit) {
+        int size = clampLimit(limit);
+        List<TicketSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = ticketRepository.findFirstPage(Limit.of(size + 1));
+        } else {
+            TicketCursor c = TicketCursor.decode(cursor);
+            rows = ticketRepository.findPageAfter(c.getCreatedAt(), c.getId(), Limit.of(size + 1));
+        }
+        return toPage(rows, size);
     }
 
-    public Ticket getTicketById(Long id) {
-        return getTicketOrThrow(id);
+    // Çağıranın oluşturduğu veya ona atanmış ticketlar (en yeniler önce)
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSummaryResponse> getMyTickets(AuthenticatedUser user, String cursor, Integer limit) {
+        Long userId = user.getId();
+        int size = clampLimit(limit);
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = ticketRepository.findFirstPageIdsForUser(userId, size + 1);
+        } else {
+            TicketCursor c = TicketCursor.decode(cursor);
+            ids = ticketRepository.findPageIdsForUserAfter(userId, c.getCreatedAt(), c.getId(), size + 1);
+        }
+        if (ids.isEmpty()) return new CursorPage<>(List.of(), null);
+        Map<Long, TicketSummaryResponse> byId = ticketRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TicketSummaryResponse::getId, Function.identity()));
+        // UNION'ın sırası korunur; arada silinen atlanır
+        return toPage(ids.stream().map(byId::get).filter(Objects::nonNull).toList(), size);
     }
 
-    public Ticket updateTicket(Long id, UpdateTicketRequest req, String userEmail) {
-        User currentUser = getUserByEmail(userEmail);
-        Ticket t = getTicketOrThrow(id);
+    // Index skor sırasına göre id verir; özetler tek IN sorgusuyla doldurulur
+    @Transactional(readOnly = true)
+    public List<TicketSummaryResponse> searchTickets(String query, Integer limit) {
+        List<Long> ids = ticketSearchIndex.search(query, limit == null ? 20 : clampLimit(limit));
+        if (ids.isEmpty()) return List.of();
+        Map<Long, TicketSummaryResponse> byId = ticketRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TicketSummaryResponse::getId, Function.identity()));
+        // Index'te olup veritabanında artık olmayanlar atlanır
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
 
-        // Yetki Kontrolü
-        boolean isCreator = t.getCreatedBy().getId().equals(currentUser.getId());
-        boolean isAssignee = t.getAssignedTo() != null && t.getAssignedTo().getId().equals(currentUser.getId());
+    @Transactional(readOnly = true)
+    public TicketSummaryResponse getTicketById(Long id) {
+        return ticketRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Görev bulunamadı"));
+    }
 
-        if (!isAdmin(currentUser) && !isCreator && !isAssignee) {
+    @Transactional
+    public Ticket updateTicket(Long id, UpdateTicketRequest req, AuthenticatedUser currentUser) {
+        Ticket t = getTicketWithDetailsOrThrow(id);
+
+        // Yetki Kontrolü
+        boolean admin = currentUser.isAdmin();
+        if (!TicketPermissions.canEdit(t, currentUser.getId(), admin)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Bu görevi düzenleme yetkiniz yok.");
         }
+        TicketHistoryService.Snapshot before = TicketHistoryService.snapshot(t);
 
         // Güncellemeler
         if (req.getTitle() != null && !req.getTitle().isBlank()) t.setTitle(req.getTitle());
         if (req.getDescription() != null) t.setDescription(req.getDescription());
-        if (req.getPriority() != null) {
-            try {
-                t.setPriority(TicketPriority.valueOf(req.getPriority().toUpperCase()));
-            } catch (Exception ignored) {}
-        }
+        if (req.getPriority() != null) t.setPriority(TicketPriority.parseOrDefault(req.getPriority(), t.getPriority()));
 
         // Atama Değişikliği (Sadece Admin veya Oluşturan yapabilir)
         if (req.getAssignedToUserId() != null) {
             Long currentAssigneeId = (t.getAssignedTo() != null) ? t.getAssignedTo().getId() : null;
 
             if (!req.getAssignedToUserId().equals(currentAssigneeId)) {
-                if (!isAdmin(currentUser) && !isCreator) {
+                if (!TicketPermissions.canManage(t, currentUser.getId(), admin)) {
                     throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Görevi başkasına devretme yetkiniz yok.");
                 }
                 User newAssignee = userRepository.findById(req.getAssignedToUserId())
@@ -131,52 +264,93 @@ public class TicketService {
                 t.setAssignedTo(newAssignee);
             }
         }
-        return ticketRepository.save(t);
+        Ticket saved = ticketRepository.save(t);
+        ticketHistoryService.recordChanges(before, saved, currentUser.getId());
+        touchProject(saved.getProject());
+        eventPublisher.publish(TicketEvent.of(TicketEventType.TICKET_UPDATED, TicketSummaryResponse.from(saved)));
+        return saved;
     }
 
-    public Ticket updateStatus(Long id, UpdateStatusRequest req, String userEmail) {
-        User currentUser = getUserByEmail(userEmail);
-        Ticket t = getTicketOrThrow(id);
-
-        boolean isCreator = t.getCreatedBy().getId().equals(currentUser.getId());
-        boolean isAssignee = t.getAssignedTo() != null && t.getAssignedTo().getId().equals(currentUser.getId());
+    @Transactional
+    public Ticket updateStatus(Long id, UpdateStatusRequest req, AuthenticatedUser currentUser) {
+        Ticket t = getTicketWithDetailsOrThrow(id);
 
-        if (!isAdmin(currentUser) && !isCreator && !isAssignee) {
+        if (!TicketPermissions.canEdit(t, currentUser.getId(), currentUser.isAdmin())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Bu görevi taşıma yetkiniz yok.");
         }
 
-        try {
-            t.setStatus(TicketStatus.valueOf(req.getStatus().trim().toUpperCase()));
-        } catch (IllegalArgumentException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Geçersiz durum (status)");
-        }
-        return ticketRepository.save(t);
+        TicketHistoryService.Snapshot before = TicketHistoryService.snapshot(t);
+        t.setStatus(parseStatus(req.getStatus()));
+        Ticket saved = ticketRepository.save(t);
+        ticketHistoryService.recordChanges(before, saved, currentUser.getId());
+        touchProject(saved.getProject());
+        eventPublisher.publish(TicketEvent.of(TicketEventType.STATUS_CHANGED, TicketSummaryResponse.from(saved)));
+        return saved;
     }
 
-    public void deleteTicket(Long id, String userEmail) {
-        User currentUser = getUserByEmail(userEmail);
+    @Transactional
+    public void deleteTicket(Long id, AuthenticatedUser currentUser) {
         Ticket t = getTicketOrThrow(id);
 
-        boolean isCreator = t.getCreatedBy().getId().equals(currentUser.getId());
-
-        if (!isAdmin(currentUser) && !isCreator) {
+        if (!TicketPermissions.canManage(t, currentUser.getId(), currentUser.isAdmin())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Bu görevi silme yetkiniz yok.");
         }
+        Project project = t.getProject();
         ticketRepository.delete(t);
+        touchProject(project);
+        eventPublisher.publish(new TicketEvent(TicketEventType.TICKET_DELETED,
+                project != null ? project.getId() : null, id, null, null));
     }
 
-    public Comment addComment(Long ticketId, CreateCommentRequest req, String userEmail) {
-        User currentUser = getUserByEmail(userEmail);
-        Ticket ticket = getTicketOrThrow(ticketId);
+    // Ticket satırı yüklenmez: sayaç UPDATE'i aynı zamanda varlık kontrolü, yorum referansla bağlanır
+    @Transactional
+    public CommentResponse addComment(Long ticketId, CreateCommentRequest req, AuthenticatedUser user) {
+        OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        if (ticketRepository.recordComment(ticketId, now) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Görev bulunamadı");
+        }
 
         Comment comment = new Comment();
         comment.setText(req.getText());
-        comment.setTicket(ticket);
-        comment.setCreatedBy(currentUser);
-        return commentRepository.save(comment);
+        comment.setTicket(ticketRepository.getReferenceById(ticketId));
+        comment.setCreatedBy(userRef(user));
+        comment.setCreatedAt(now.toLocalDateTime());
+        Comment saved = commentRepository.save(comment);
+        CommentResponse response = CommentResponse.from(saved);
+        Long projectId = ticketRepository.findProjectIdById(ticketId).orElse(null);
+        if (projectId != null) projectRepository.bumpTicketsVersion(List.of(projectId));
+        eventPublisher.publish(new TicketEvent(TicketEventType.COMMENT_ADDED, projectId, ticketId, null, response));
+        return response;
+    }
+
+    // Varsayılan eskiden yeniye (sohbet sırası); "desc" ile en yeniler önce
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getComments(Long ticketId, String cursor, Integer limit, String order) {
+        boolean newestFirst = parseCommentOrder(order);
+        int size = clampLimit(limit);
+        Limit window = Limit.of(size + 1);
+        List<CommentResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = newestFirst
+                    ? commentRepository.findNewestFirst(ticketId, window)
+                    : commentRepository.findOldestFirst(ticketId, window);
+        } else {
+            CommentCursor c = CommentCursor.decode(cursor);
+            rows = newestFirst
+                    ? commentRepository.findNewestFirstAfter(ticketId, c.getCreatedAt(), c.getId(), window)
+                    : commentRepository.findOldestFirstAfter(ticketId, c.getCreatedAt(), c.getId(), window);
+        }
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<CommentResponse> items = rows.subList(0, size);
+        return new CursorPage<>(items, CommentCursor.of(items.get(size - 1)).encode());
     }
 
-    public List<Comment> getComments(Long ticketId) {
-        return commentRepository.findByTicketIdOrderByCreatedAtAsc(ticketId);
+    private static boolean parseCommentOrder(String order) {
+        if (order == null || order.isBlank() || order.equalsIgnoreCase("asc")) return false;
+        if (order.equalsIgnoreCase("desc")) return true;
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "order asc veya desc olmalı");
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.secureoffice.backend.users;
 
+import com.secureoffice.backend.security.TokenRevocationList;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -11,9 +12,15 @@ import java.util.List;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final UserService userService;
+    private final TokenRevocationList revocationList;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository,
+                          UserService userService,
+                          TokenRevocationList revocationList) {
         this.userRepository = userRepository;
+        this.userService = userService;
+        this.revocationList = revocationList;
     }
 
     // 1. Mevcut metodun: Tüm kullanıcıları getir
@@ -27,18 +34,10 @@ public class UserController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<?> deleteUser(@PathVariable Long id, org.springframework.security.core.Authentication authentication) {
-        User userToDelete = userRepository.findById(id).orElse(null);
-        if(userToDelete == null){
-            return ResponseEntity.notFound().build();
-        }
-        String currentPrincipalName = authentication.getName();
-        if(userToDelete.getEmail().equals(currentPrincipalName)){
-            return ResponseEntity.badRequest().body("Kendi hesabınızı silemezsiniz.");
-        }
-
-
-        // Varsa siliyoruz
-        userRepository.deleteById(id);
+        // Refresh token'lar ve kullanıcı tek transaction'da silinir (404 / kendi hesabı -> 400)
+        userService.deleteUser(id, authentication.getName());
+        // Silme commit oldu: elindeki access token'lar da süresini beklemeden geçersiz
+        revocationList.revokeUser(id);
 
         // Başarılı (204 No Content) dönüyoruz
         return ResponseEntity.noContent().build();
@@ -1,10 +1,40 @@
 package com.secureoffice.backend.users;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // ehcache.xml'deki query bölgesi
+    String USER_BY_EMAIL_REGION = "users.byEmail";
+
+    // Her istekte (JWT filtresi, yazma işlemleri) çalışır: query cache'ten id, 2. seviye cache'ten User + roller.
+    // users tablosuna Hibernate üzerinden her yazım bu bölgeyi geçersiz kılar.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = USER_BY_EMAIL_REGION)
+    })
     Optional<User> findByEmailIgnoreCase(String email);
     boolean existsByEmailIgnoreCase(String email);
+
+    // Sadece id gereken yerlerde User ve rolleri yüklenmez
+    @Query("select u.id from User u where lower(u.email) = lower(:email)")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = USER_BY_EMAIL_REGION)
+    })
+    Optional<Long> findIdByEmailIgnoreCase(@Param("email") String email);
+
+    // Toplu işlemlerde varlık kontrolü: entity (ve rolleri) yüklemeden tek IN sorgusu
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
 
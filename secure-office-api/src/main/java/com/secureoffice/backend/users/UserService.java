@@ -0,0 +1,42 @@
+package com.secureoffice.backend.users;
+
+import com.secureoffice.backend.auth.RefreshTokenService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Kullanıcı silme: refresh token'lar ve kullanıcı tek transaction'da silinir; biri başarısız olursa
+ * (kullanıcının ticket'ları/yorumları varsa FK -> 409) ikisi de geri alınır. Access token iptali commit'ten sonra
+ * çağıranın işidir (UserController): geri alınan silme token'ları iptal etmemeli.
+ */
+@Service
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
+
+    public UserService(UserRepository userRepository, RefreshTokenService refreshTokenService) {
+        this.userRepository = userRepository;
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    @Transactional
+    public void deleteUser(Long id, String currentEmail) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Kullanıcı bulunamadı"));
+        if (user.getEmail().equalsIgnoreCase(currentEmail)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Kendi hesabınızı silemezsiniz.");
+        }
+        // Önce refresh token'lar (FK)
+        refreshTokenService.deleteForUser(id);
+        userRepository.delete(user);
+        try {
+            userRepository.flush(); // FK hatası commit'te değil burada çıksın
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Kullanıcıya bağlı kayıtlar var, silinemez");
+        }
+    }
+}
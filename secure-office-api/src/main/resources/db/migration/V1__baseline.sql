@@ -0,0 +1,103 @@
+-- Başlangıç şeması (entity'lerle birebir; uygulama ddl-auto=validate ile açılır).
+-- Daha önce ddl-auto=update ile oluşmuş veritabanlarında da çalışsın diye her ifade IF NOT EXISTS:
+-- var olan tablolar atlanır, eksik index/sequence'lar eklenir (spring.flyway.baseline-version=0).
+
+-- Kullanıcılar ve roller
+create table if not exists users (
+    id            bigint generated by default as identity primary key,
+    email         varchar(255) not null unique,
+    password_hash varchar(255) not null,
+    first_name    varchar(255),
+    last_name     varchar(255),
+    enabled       boolean not null,
+    created_at    timestamp(6) with time zone not null
+);
+
+create table if not exists roles (
+    id   bigint generated by default as identity primary key,
+    name varchar(50) not null unique
+);
+
+create table if not exists user_roles (
+    user_id bigint not null references users (id),
+    role_id bigint not null references roles (id),
+    primary key (user_id, role_id)
+);
+
+create index if not exists idx_user_roles_role_id on user_roles (role_id);
+
+-- Projeler
+create table if not exists projects (
+    id              bigint generated by default as identity primary key,
+    name            varchar(255),
+    description     varchar(255),
+    created_at      timestamp(6),
+    -- Board/liste ETag sayacı (ProjectRepository.bumpTicketsVersion)
+    tickets_version bigint default 0 not null
+);
+
+-- Ticketlar: id'ler pooled sequence'tan 50'şer alınır (insert batch'leme)
+create sequence if not exists tickets_seq start with 1 increment by 50;
+
+create table if not exists tickets (
+    id              bigint primary key,
+    title           varchar(200) not null,
+    description     text,
+    status          varchar(255) not null,
+    priority        varchar(255),
+    created_by      bigint not null references users (id),
+    assigned_to     bigint references users (id),
+    project_id      bigint references projects (id),
+    created_at      timestamp(6) with time zone not null,
+    updated_at      timestamp(6) with time zone not null,
+    comment_count   integer default 0 not null,
+    last_comment_at timestamp(6) with time zone
+);
+
+-- Keyset sayfalama: genel liste, proje listesi, board kolonu ve "benim görevlerim" (UNION'ın iki kolu).
+-- project_id / created_by / assigned_to FK aramaları da bu index'lerin ön ekini kullanır.
+create index if not exists idx_tickets_created_at_id on tickets (created_at, id);
+create index if not exists idx_tickets_project_created_at_id on tickets (project_id, created_at, id);
+create index if not exists idx_tickets_project_status_created_at_id on tickets (project_id, status, created_at, id);
+create index if not exists idx_tickets_created_by_created_at_id on tickets (created_by, created_at, id);
+create index if not exists idx_tickets_assigned_to_created_at_id on tickets (assigned_to, created_at, id);
+
+-- Yorumlar
+create sequence if not exists comments_seq start with 1 increment by 50;
+
+create table if not exists comments (
+    id         bigint primary key,
+    text       text not null,
+    created_at timestamp(6),
+    user_id    bigint not null references users (id),
+    ticket_id  bigint not null references tickets (id)
+);
+
+-- Yorum sayfalama; ticket_id FK araması da bu index'le yapılır
+create index if not exists idx_comments_ticket_created_at_id on comments (ticket_id, created_at, id);
+create index if not exists idx_comments_user_id on comments (user_id);
+
+-- Transactional outbox (OutboxDispatcher teslim edince siler)
+create sequence if not exists ticket_outbox_seq start with 1 increment by 50;
+
+create table if not exists ticket_outbox (
+    id         bigint primary key,
+    ticket_id  bigint not null,
+    event_type varchar(40) not null,
+    payload    text not null,
+    created_at timestamp(6) with time zone not null,
+    attempts   integer not null
+);
+
+-- Ticket alan geçmişi (sadece eklenir; ticket silinse de kalır, FK yok)
+create table if not exists ticket_history (
+    id         bigint generated by default as identity primary key,
+    ticket_id  bigint not null,
+    field      varchar(30) not null,
+    old_value  text,
+    new_value  text,
+    changed_by bigint,
+    changed_at timestamp(6) not null
+);
+
+create index if not exists idx_ticket_history_ticket_id_id on ticket_history (ticket_id, id);
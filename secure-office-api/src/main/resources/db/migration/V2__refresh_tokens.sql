@@ -0,0 +1,24 @@
+-- Refresh token'lar (sadece SHA-256 özeti saklanır) ve access token iptal listesi
+
+create table refresh_tokens (
+    id         bigint generated by default as identity primary key,
+    token_hash varchar(64) not null unique,
+    family_id  varchar(36) not null,
+    user_id    bigint not null references users (id),
+    created_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone
+);
+
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
+-- Tekrar kullanımda / çıkışta tüm aile iptal edilir
+create index idx_refresh_tokens_family_id on refresh_tokens (family_id);
+
+-- Çıkış yapılan token'lar (jti) ve silinen kullanıcılar; TokenRevocationList açılışta ve periyodik olarak buradan yükler
+create table token_revocations (
+    revocation_key varchar(80) primary key,
+    revoked_at     timestamp(6) with time zone not null,
+    expires_at     timestamp(6) with time zone not null
+);
+
+create index idx_token_revocations_expires_at on token_revocations (expires_at);
@@ -0,0 +1,6 @@
+-- ddl-auto=update ile oluşmuş (Flyway öncesi) veritabanlarında V1 var olan tabloları atlar;
+-- sonradan eklenen sayaç kolonları burada eklenir. Yeni kurulumda kolonlar zaten var, ifadeler atlanır.
+alter table projects add column if not exists tickets_version bigint default 0 not null;
+
+alter table tickets add column if not exists comment_count integer default 0 not null;
+alter table tickets add column if not exists last_comment_at timestamp(6) with time zone;
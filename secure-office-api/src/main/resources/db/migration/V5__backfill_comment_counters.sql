@@ -0,0 +1,5 @@
+-- Sayaç kolonları yorumlardan sonra geldi (V3 ile eklenenler 0 / null başlar): mevcut yorumlardan yeniden hesaplanır.
+-- Sayaçları zaten tutulmuş veritabanında aynı değerleri yazar.
+update tickets t
+set comment_count   = (select count(*) from comments c where c.ticket_id = t.id),
+    last_comment_at = (select max(c.created_at) from comments c where c.ticket_id = t.id);
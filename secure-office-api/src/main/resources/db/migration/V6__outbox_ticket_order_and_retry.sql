@@ -0,0 +1,11 @@
+-- Ticket başına olay sırası: olay yazan transaction sayaç UPDATE'iyle ticket satırını kilitler,
+-- outbox satırı sayacın yeni değerini alır (commit sırası = ticket_seq sırası)
+alter table tickets add column if not exists event_version bigint default 0 not null;
+
+alter table ticket_outbox add column if not exists ticket_seq bigint default 0 not null;
+-- Başarısız teslim: artan bekleme ile tekrar denenir; teslim alan aboneler tekrar almaz
+alter table ticket_outbox add column if not exists next_attempt_at timestamp(6) with time zone;
+alter table ticket_outbox add column if not exists delivered_to varchar(255);
+
+create index if not exists idx_ticket_outbox_ticket_seq_id on ticket_outbox (ticket_seq, id);
+create index if not exists idx_ticket_outbox_next_attempt_at on ticket_outbox (next_attempt_at);
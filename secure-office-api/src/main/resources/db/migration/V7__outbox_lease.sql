@@ -0,0 +1,6 @@
+-- Outbox dağıtımı tek instance'ta: sahip kaydı periyodik yeniler, süresi geçen kayıt devralınır (OutboxDispatcher)
+create table outbox_lease (
+    name       varchar(40) primary key,
+    owner      varchar(120) not null,
+    expires_at timestamp(6) with time zone not null
+);
@@ -0,0 +1,149 @@
+package com.secureoffice.backend;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Şema Flyway ile kurulur, Hibernate validate eder: context açılıyorsa migration'lar entity'lerle uyumlu demektir.
+// Diğer testler create-drop kullandığı için ayrı bir veritabanında çalışır.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schema_migration;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void migrationsApplyAndMatchEntities() {
+        assertTrue(flyway.info().pending().length == 0, "Uygulanmamış migration kalmamalı");
+        assertNotNull(flyway.info().current());
+    }
+
+    @Test
+    void everyEntityIndexExistsInSchema() {
+        Set<String> indexes = indexes(jdbcTemplate);
+        Set<String> missing = missingEntityIndexes(indexes);
+        assertTrue(missing.isEmpty(), () -> "Migration'da olmayan index'ler: " + missing);
+
+        // FK aramaları için eklenen, entity'de karşılığı olmayanlar
+        assertTrue(indexes.contains("idx_comments_user_id"));
+        assertTrue(indexes.contains("idx_user_roles_role_id"));
+    }
+
+    // Flyway öncesi, ddl-auto=update'in kurduğu şema (IDENTITY id'ler, sayaç kolonları yok) ve içindeki veri
+    // uygulamanın Flyway ayarlarıyla taşınır: kolonlar tamamlanır, sequence'lar mevcut id'lerle çakışmaz
+    @Test
+    void legacyDdlAutoSchema_IsUpgradedInPlace() throws Exception {
+        String url = "jdbc:h2:mem:schema_migration_legacy;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection con = DriverManager.getConnection(url, "sa", ""); Statement st = con.createStatement()) {
+            for (String sql : LEGACY_SCHEMA) st.execute(sql);
+        }
+
+        Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(url, "sa", "")
+                .load()
+                .migrate();
+
+        JdbcTemplate legacy = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        Map<String, Set<String>> expected = columns(jdbcTemplate);
+        Map<String, Set<String>> upgraded = columns(legacy);
+        expected.forEach((table, cols) -> assertEquals(cols, upgraded.get(table), "Kolonlar: " + table));
+        Set<String> missing = missingEntityIndexes(indexes(legacy));
+        assertTrue(missing.isEmpty(), () -> "Taşınan şemada olmayan index'ler: " + missing);
+
+        // Veri yerinde; yorum sayaçları mevcut yorumlardan hesaplanır
+        assertEquals(List.of(1, 2), legacy.queryForList("select comment_count from tickets order by id", Integer.class));
+        assertEquals(2, legacy.queryForObject(
+                "select count(*) from tickets where last_comment_at is not null", Integer.class));
+        assertEquals(0L, legacy.queryForObject("select tickets_version from projects", Long.class));
+
+        // Pooled optimizer nextval'i aralığın üst ucu sayar: ilk aralık (N-49..N) mevcut en büyük id'den sonra başlamalı
+        long ticketHi = legacy.queryForObject("select nextval('tickets_seq')", Long.class);
+        assertTrue(ticketHi - 49 > 120, "tickets_seq aralığı: " + ticketHi);
+        long commentHi = legacy.queryForObject("select nextval('comments_seq')", Long.class);
+        assertTrue(commentHi - 49 > 75, "comments_seq aralığı: " + commentHi);
+    }
+
+    private Set<String> missingEntityIndexes(Set<String> indexes) {
+        // Entity'lerde tanımlı index'ler migration'da da olmalı (validate index'leri kontrol etmez)
+        Set<String> missing = new HashSet<>();
+        entityManagerFactory.getMetamodel().getEntities().forEach(e -> {
+            Table table = e.getJavaType().getAnnotation(Table.class);
+            if (table == null) return;
+            for (Index index : table.indexes()) {
+                if (!indexes.contains(index.name().toLowerCase())) missing.add(index.name());
+            }
+        });
+        return missing;
+    }
+
+    private static Set<String> indexes(JdbcTemplate jdbc) {
+        return new HashSet<>(jdbc.queryForList("select lower(index_name) from information_schema.indexes", String.class));
+    }
+
+    private static Map<String, Set<String>> columns(JdbcTemplate jdbc) {
+        return jdbc.queryForList("select lower(table_name) t, lower(column_name) c from information_schema.columns "
+                        + "where table_schema = 'public' and table_name in ('users', 'roles', 'user_roles', 'projects', "
+                        + "'tickets', 'comments')")
+                .stream()
+                .collect(Collectors.groupingBy(row -> (String) row.get("t"),
+                        Collectors.mapping(row -> (String) row.get("c"), Collectors.toSet())));
+    }
+
+    // Baseline entity'lerinden Hibernate'in ürettiği şema (ddl-auto=update)
+    private static final String[] LEGACY_SCHEMA = {
+            "create table users (id bigint generated by default as identity primary key, created_at timestamp(6) "
+                    + "with time zone not null, email varchar(255) not null unique, enabled boolean not null, "
+                    + "first_name varchar(255), last_name varchar(255), password_hash varchar(255) not null)",
+            "create table roles (id bigint generated by default as identity primary key, "
+                    + "name varchar(50) not null unique)",
+            "create table user_roles (role_id bigint not null references roles, user_id bigint not null "
+                    + "references users, primary key (role_id, user_id))",
+            "create table projects (id bigint generated by default as identity primary key, created_at timestamp(6), "
+                    + "description varchar(255), name varchar(255))",
+            "create table tickets (id bigint generated by default as identity primary key, "
+                    + "created_at timestamp(6) with time zone not null, updated_at timestamp(6) with time zone not null, "
+                    + "assigned_to bigint references users, created_by bigint not null references users, "
+                    + "project_id bigint references projects, description text, priority varchar(255), "
+                    + "status varchar(255) not null, title varchar(200) not null)",
+            "create table comments (id bigint generated by default as identity primary key, created_at timestamp(6), "
+                    + "ticket_id bigint not null references tickets, user_id bigint not null references users, "
+                    + "text text not null)",
+            "insert into users (id, created_at, email, enabled, password_hash) values (1, now(), 'eski@user.com', true, '-')",
+            "insert into projects (id, name) values (1, 'Eski proje')",
+            "insert into tickets (id, created_at, updated_at, created_by, project_id, status, title) values "
+                    + "(7, now(), now(), 1, 1, 'OPEN', 'Eski 1'), (120, now(), now(), 1, null, 'DONE', 'Eski 2')",
+            "insert into comments (id, created_at, ticket_id, user_id, text) values "
+                    + "(3, now(), 7, 1, 'Eski yorum'), (74, now(), 120, 1, 'Eski yorum 2'), "
+                    + "(75, now(), 120, 1, 'Eski yorum 3')"
+    };
+}
@@ -0,0 +1,161 @@
+package com.secureoffice.backend.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.secureoffice.backend.users.Role;
+import com.secureoffice.backend.users.RoleRepository;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Rotation ve iptal commit edilmiş veriye dayanır: test transaction'sız çalışır, her test kendi kullanıcısını açar
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthFlowTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private UserRepository userRepository;
+    @Value("${app.security.bcrypt-strength}") private int bcryptStrength;
+
+    @BeforeEach
+    void setUp() {
+        for (String name : new String[]{"ROLE_USER", "ROLE_ADMIN"}) {
+            if (roleRepository.findByName(name).isEmpty()) {
+                Role r = new Role();
+                r.setName(name);
+                roleRepository.save(r);
+            }
+        }
+    }
+
+    @Test
+    void refresh_RotatesToken_AndReuseRevokesFamily() throws Exception {
+        JsonNode first = register("USER");
+        String r1 = first.get("refreshToken").asText();
+
+        JsonNode second = json(refresh(r1).andExpect(status().isOk()));
+        String r2 = second.get("refreshToken").asText();
+        assertNotEquals(r1, r2);
+        mine(second.get("accessToken").asText()).andExpect(status().isOk());
+
+        // Eski token tekrar geldi: reddedilir ve ondan türeyen r2 de artık geçersiz
+        refresh(r1).andExpect(status().isUnauthorized());
+        refresh(r2).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_RevokesAccessAndRefreshTokens() throws Exception {
+        JsonNode tokens = register("USER");
+        String access = tokens.get("accessToken").asText();
+        mine(access).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .header("Authorization", "Bearer " + access)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\": \"" + tokens.get("refreshToken").asText() + "\"}"))
+                .andExpect(status().isNoContent());
+
+        mine(access).andExpect(status().isUnauthorized());
+        refresh(tokens.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deletedUser_TokensStopWorkingImmediately() throws Exception {
+        String admin = register("ADMIN").get("accessToken").asText();
+        JsonNode user = register("USER");
+        String access = user.get("accessToken").asText();
+        mine(access).andExpect(status().isOk());
+
+        Long userId = userRepository.findIdByEmailIgnoreCase(user.get("email").asText()).orElseThrow();
+        mockMvc.perform(delete("/api/v1/users/" + userId).header("Authorization", "Bearer " + admin))
+                .andExpect(status().isNoContent());
+
+        mine(access).andExpect(status().isUnauthorized());
+        refresh(user.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+    }
+
+    // Silme geri alınırsa refresh token'ları da yerinde kalır, access token iptal edilmez
+    @Test
+    void failedUserDelete_KeepsTokens() throws Exception {
+        String admin = register("ADMIN").get("accessToken").asText();
+        JsonNode user = register("USER");
+        String access = user.get("accessToken").asText();
+        mockMvc.perform(post("/api/v1/tickets").header("Authorization", "Bearer " + access)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Silinemeyen kullanıcının ticket'ı\"}"))
+                .andExpect(status().isCreated());
+
+        Long userId = userRepository.findIdByEmailIgnoreCase(user.get("email").asText()).orElseThrow();
+        mockMvc.perform(delete("/api/v1/users/" + userId).header("Authorization", "Bearer " + admin))
+                .andExpect(status().isConflict());
+
+        mine(access).andExpect(status().isOk());
+        refresh(user.get("refreshToken").asText()).andExpect(status().isOk());
+    }
+
+    @Test
+    void login_RehashesPasswordWhenCostChanged() throws Exception {
+        String email = "rehash-" + UUID.randomUUID() + "@user.com";
+        User user = new User();
+        user.setEmail(email);
+        user.setFirstName("Eski");
+        user.setLastName("Hash");
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode("Sifre123!")); // Eski, düşük cost
+        userRepository.save(user);
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + email + "\", \"password\": \"Sifre123!\"}"))
+                .andExpect(status().isOk());
+
+        String rehashed = userRepository.findByEmailIgnoreCase(email).orElseThrow().getPasswordHash();
+        assertTrue(rehashed.startsWith("$2a$" + bcryptStrength + "$"), rehashed);
+    }
+
+    private JsonNode register(String role) throws Exception {
+        String email = "auth-" + UUID.randomUUID() + "@user.com";
+        String body = "{\"email\": \"" + email + "\", \"password\": \"Sifre123!\", \"firstName\": \"Auth\", "
+                + "\"lastName\": \"Test\", \"role\": \"" + role + "\", \"adminKey\": \"Gizli\"}";
+        ObjectNode tokens = (ObjectNode) json(mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk()));
+        return tokens.put("email", email);
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\": \"" + refreshToken + "\"}"));
+    }
+
+    private ResultActions mine(String accessToken) throws Exception {
+        return mockMvc.perform(get("/api/v1/tickets/mine").header("Authorization", "Bearer " + accessToken));
+    }
+
+    private JsonNode json(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
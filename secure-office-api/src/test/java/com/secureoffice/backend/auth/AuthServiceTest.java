@@ -0,0 +1,52 @@
+package com.secureoffice.backend.auth;
+
+import com.secureoffice.backend.dto.request.AuthRequest;
+import com.secureoffice.backend.dto.response.AuthResponse;
+import com.secureoffice.backend.security.JwtService;
+import com.secureoffice.backend.security.PasswordHashingExecutor;
+import com.secureoffice.backend.security.TokenRevocationList;
+import com.secureoffice.backend.users.RoleRepository;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTest {
+
+    // Cost değişikliği sonrası yeniden hash en iyi çaba: havuz doluysa giriş yine başarılı, hash aynen kalır
+    @Test
+    void login_SkipsRehashWhenHashingPoolIsBusy() {
+        UserRepository userRepository = mock(UserRepository.class);
+        PasswordHashingExecutor hasher = mock(PasswordHashingExecutor.class);
+        JwtService jwtService = mock(JwtService.class);
+        RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+        AuthService authService = new AuthService(userRepository, mock(RoleRepository.class), hasher, jwtService,
+                refreshTokenService, mock(TokenRevocationList.class), "anahtar", new SimpleMeterRegistry());
+
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("rehash@user.com");
+        user.setPasswordHash("$2a$04$eski");
+        when(userRepository.findByEmailIgnoreCase("rehash@user.com")).thenReturn(Optional.of(user));
+        when(hasher.matches("Sifre123!", "$2a$04$eski")).thenReturn(true);
+        when(hasher.needsRehash("$2a$04$eski")).thenReturn(true);
+        when(hasher.encode(any())).thenThrow(PasswordHashingExecutor.HashingBusyException.class);
+        when(jwtService.createAccessToken(any())).thenReturn("access");
+        when(refreshTokenService.issue(user)).thenReturn("refresh");
+
+        AuthRequest req = new AuthRequest();
+        req.setEmail("rehash@user.com");
+        req.setPassword("Sifre123!");
+        AuthResponse response = authService.login(req);
+
+        assertEquals("access", response.getAccessToken());
+        assertEquals("$2a$04$eski", user.getPasswordHash());
+        verify(userRepository, never()).save(any());
+    }
+}
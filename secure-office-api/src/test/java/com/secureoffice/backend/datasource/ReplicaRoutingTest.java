@@ -0,0 +1,199 @@
+package com.secureoffice.backend.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureoffice.backend.security.AuthenticatedUser;
+import com.secureoffice.backend.security.JwtService;
+import com.secureoffice.backend.users.Role;
+import com.secureoffice.backend.users.RoleRepository;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Primary: test profilinin H2'si. replica-1: ayrı bir H2, çoğaltma yerine primary'nin o anki kopyası yüklenir
+ * (kopyadan sonraki yazmalar replica'da yoktur = gecikme). replica-2 hiç açılmayan bir adres (kapalı replica).
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.urls=" + ReplicaRoutingTest.REPLICA_URL + ";IFEXISTS=TRUE,"
+                + "jdbc:h2:tcp://127.0.0.1:1/mem:kapali",
+        "app.datasource.replica.lag-query=SELECT COALESCE(MAX(seconds), 0) FROM replica_lag",
+        "app.datasource.replica.max-lag-seconds=5",
+        "app.datasource.replica.check-interval-ms=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica_routing_test;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private ReplicaPools pools;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private String writer;
+    private String reader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (roleRepository.findByName("ROLE_USER").isEmpty()) {
+            Role role = new Role();
+            role.setName("ROLE_USER");
+            roleRepository.save(role);
+        }
+        writer = bearer(user("yazan"));
+        reader = bearer(user("okuyan"));
+        replicate();
+        // Veritabanı yokken açılan havuz yeniden bağlanmayı artan aralıklarla (en fazla 5 sn) dener
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        do {
+            pools.checkReplicas();
+        } while (available("replica-1") == 0 && System.nanoTime() < deadline);
+        assertEquals(1, available("replica-1"));
+        assertEquals(0, available("replica-2"));
+    }
+
+    @Test
+    void readOnlyReads_UseReplica_ExceptForRecentWriterAndLaggingReplica() throws Exception {
+        long id = createTicket();
+
+        // Yazan kendi yazdığını görür (primary); diğer kullanıcı replica'dan okur, kopyada henüz yok
+        getTicket(id, writer).andExpect(status().isOk());
+        getTicket(id, reader).andExpect(status().isNotFound());
+
+        replicate();
+        getTicket(id, reader).andExpect(status().isOk());
+
+        // Replica max-lag'den geride: kontrol sonrası okumalar primary'ye döner
+        long later = createTicket();
+        getTicket(later, reader).andExpect(status().isNotFound());
+        execOnReplica("UPDATE replica_lag SET seconds = 60");
+        pools.checkReplicas();
+        assertEquals(0, available("replica-1"));
+        getTicket(later, reader).andExpect(status().isOk());
+
+        // Havuzlar bean değil; Hikari metrikleri yine havuz başına
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "replica-1").gauge());
+    }
+
+    @Test
+    void replicaDown_ReadsFallBackToPrimary() throws Exception {
+        long id = createTicket();
+        execOnReplica("SHUTDOWN");
+        pools.checkReplicas();
+
+        assertEquals(0, available("replica-1"));
+        getTicket(id, reader).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/tickets").header("Authorization", reader)).andExpect(status().isOk());
+    }
+
+    // Kayıt/giriş token'sız: kullanıcısı bilinmeyen okuma primary'den yapılır, yeni kullanıcı hemen giriş yapabilir
+    @Test
+    void registerThenLogin_ReadsFromPrimary() throws Exception {
+        String email = "kayit-" + UUID.randomUUID() + "@user.com";
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + email + "\", \"password\": \"Sifre123!\", "
+                                + "\"firstName\": \"Yeni\", \"lastName\": \"Replica\"}"))
+                .andExpect(status().isOk());
+
+        // Replica'nın kopyası kayıttan önce alındı: kullanıcı henüz yalnız primary'de
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + email + "\", \"password\": \"Sifre123!\"}"))
+                .andExpect(status().isOk());
+
+        // Aynı kural servis katmanında: kullanıcısız readOnly transaction replica'ya gitmez
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        assertEquals(Boolean.TRUE, readOnly.execute(tx -> userRepository.existsByEmailIgnoreCase(email)));
+    }
+
+    private long createTicket() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/tickets")
+                        .header("Authorization", writer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Replica testi\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private ResultActions getTicket(long id, String bearer) throws Exception {
+        return mockMvc.perform(get("/api/v1/tickets/" + id).header("Authorization", bearer));
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setEmail(name + "-" + UUID.randomUUID() + "@user.com");
+        user.setFirstName(name);
+        user.setLastName("Replica");
+        user.setPasswordHash("-");
+        return userRepository.save(user);
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtService.createAccessToken(
+                new AuthenticatedUser(user.getId(), user.getEmail(), Set.of("ROLE_USER")));
+    }
+
+    // Primary'nin şema + verisi replica'ya yüklenir; gecikme tablosu yalnız replica'da
+    private void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = pools.primary().getConnection();
+             Statement st = primary.createStatement();
+             ResultSet rs = st.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+            while (rs.next()) script.add(rs.getString(1));
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement st = replica.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+            for (String sql : script) st.execute(sql);
+            st.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+            st.execute("INSERT INTO replica_lag VALUES (0)");
+        }
+    }
+
+    private void execOnReplica(String sql) throws SQLException {
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL + ";IFEXISTS=TRUE", "sa", "");
+             Statement st = replica.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private double available(String replica) {
+        return meterRegistry.get("db.replica.available").tag("replica", replica).gauge().value();
+    }
+}
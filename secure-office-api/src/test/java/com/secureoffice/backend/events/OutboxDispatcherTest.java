@@ -0,0 +1,276 @@
+package com.secureoffice.backend.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Outbox satırları commit'te yazılır; bu yüzden test transaction'sız çalışır
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutboxDispatcherTest {
+
+    private static final String EMAIL = "outbox@user.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private FlakySubscriber flakySubscriber;
+
+    @Autowired
+    private RecordingSubscriber recordingSubscriber;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxLeaseRepository leaseRepository;
+
+    private PlatformTransactionManager transactionManager;
+    private TransactionTemplate tx;
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByEmailIgnoreCase(EMAIL).isEmpty()) {
+            User u = new User();
+            u.setEmail(EMAIL);
+            u.setFirstName("Outbox");
+            u.setLastName("Test");
+            u.setPasswordHash("x");
+            userRepository.save(u);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void createdTicket_ShouldBecomeSearchableAfterDispatch() throws Exception {
+        Long ticketId = createTicket("Zeplinli toplantı odası");
+
+        await(() -> search("zeplin").contains("Zeplinli toplantı odası"));
+        await(() -> pendingFor(ticketId) == 0);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void failedDelivery_ShouldBeRetriedInOrder() throws Exception {
+        flakySubscriber.failNext.set(true);
+        Long ticketId = createTicket("Kararsız abone");
+        mockMvc.perform(post("/api/v1/tickets/" + ticketId + "/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"ikinci olay\"}"))
+                .andExpect(status().isOk());
+
+        await(() -> flakySubscriber.received(ticketId).size() == 2);
+        // İlk olay hata aldı; yorum olayı ondan önce teslim edilmemeli
+        assertEquals(List.of(TicketEventType.TICKET_CREATED, TicketEventType.COMMENT_ADDED),
+                flakySubscriber.received(ticketId));
+        // Olayı ilk seferde almış abone tekrar almaz
+        assertEquals(List.of(TicketEventType.TICKET_CREATED, TicketEventType.COMMENT_ADDED),
+                recordingSubscriber.received(ticketId));
+        await(() -> pendingFor(ticketId) == 0);
+    }
+
+    // Pooled sequence'ta id sırası commit sırası değildir: teslim ticket_seq sırasıyla
+    @Test
+    void deliveryFollowsTicketSeq_NotId() throws Exception {
+        Long ticketId = 900_000_000L + System.nanoTime() % 1_000_000;
+        tx.executeWithoutResult(status -> {
+            outboxEventRepository.save(new OutboxEvent(ticketId, 2, TicketEventType.TICKET_UPDATED,
+                    payload(ticketId, TicketEventType.TICKET_UPDATED)));
+            outboxEventRepository.save(new OutboxEvent(ticketId, 1, TicketEventType.STATUS_CHANGED,
+                    payload(ticketId, TicketEventType.STATUS_CHANGED)));
+        });
+
+        await(() -> recordingSubscriber.received(ticketId).size() == 2);
+        assertEquals(List.of(TicketEventType.STATUS_CHANGED, TicketEventType.TICKET_UPDATED),
+                recordingSubscriber.received(ticketId));
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void eventsOfSameTicket_GetIncreasingTicketSeq() throws Exception {
+        flakySubscriber.failAlways.set(true); // Satırlar silinmeden okunabilsin
+        Long ticketId = createTicket("Sıralı olaylar");
+        try {
+            for (int i = 0; i < 2; i++) {
+                mockMvc.perform(post("/api/v1/tickets/" + ticketId + "/comments")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"text\": \"yorum " + i + "\"}"))
+                        .andExpect(status().isOk());
+            }
+            List<Long> seqs = outboxEventRepository.findAll().stream()
+                    .filter(o -> o.getTicketId().equals(ticketId))
+                    .sorted(Comparator.comparing(OutboxEvent::getId))
+                    .map(OutboxEvent::getTicketSeq)
+                    .toList();
+            assertEquals(List.of(0L, 1L, 2L), seqs);
+        } finally {
+            flakySubscriber.failAlways.set(false);
+            // Beklemedeki satırlar sonraki testlerin failNext'ini tüketmesin
+            outboxEventRepository.deleteAll(outboxEventRepository.findAll().stream()
+                    .filter(o -> o.getTicketId().equals(ticketId)).toList());
+        }
+    }
+
+    // Aboneler süreç içi: kayıt canlı bir instance'tayken ikinci instance açılmaz (1 sn lease kadar bekler)
+    @Test
+    void secondInstance_FailsToStartWhileLeaseIsHeld() {
+        OutboxDispatcher second = secondInstance();
+        try {
+            IllegalStateException e = assertThrows(IllegalStateException.class, second::start);
+            assertTrue(e.getMessage().contains("tek instance"), e.getMessage());
+        } finally {
+            second.stop();
+        }
+    }
+
+    // Çökmüş instance'ın süresi geçmiş kaydı devralınır; bırakılan kayıt asıl dağıtıcıya döner
+    @Test
+    void expiredLease_IsTakenOver() {
+        OutboxDispatcher second = secondInstance();
+        try {
+            OffsetDateTime past = OffsetDateTime.now().minusMinutes(1);
+            tx.executeWithoutResult(status -> leaseRepository.findById(OutboxDispatcher.LEASE_NAME).ifPresent(l ->
+                    leaseRepository.renewOrTakeOver(l.getName(), l.getOwner(), past, past)));
+            assertTrue(second.tryAcquireLease());
+        } finally {
+            second.stop();
+        }
+        assertTrue(leaseRepository.findById(OutboxDispatcher.LEASE_NAME).isEmpty(), "Kapanışta kayıt bırakılmalı");
+        assertTrue(dispatcher.tryAcquireLease());
+    }
+
+    @Test
+    void backoff_DoublesUpToLimit() {
+        long poll = dispatcher.backoff(1).toMillis();
+        assertEquals(2 * poll, dispatcher.backoff(2).toMillis());
+        assertEquals(4 * poll, dispatcher.backoff(3).toMillis());
+        assertEquals(OutboxDispatcher.MAX_BACKOFF, dispatcher.backoff(1000));
+    }
+
+    private OutboxDispatcher secondInstance() {
+        return new OutboxDispatcher(outboxEventRepository, leaseRepository, List.of(), objectMapper,
+                transactionManager, 500, 1000, 1);
+    }
+
+    private String payload(Long ticketId, TicketEventType type) {
+        try {
+            return objectMapper.writeValueAsString(new TicketEvent(type, null, ticketId, null, null));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long createTicket(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(body).get("id").asLong(); // createdBy.id değil, ticket'ın id'si
+    }
+
+    private String search(String q) throws Exception {
+        return mockMvc.perform(get("/api/v1/tickets/search").param("q", q))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private long pendingFor(Long ticketId) {
+        return outboxEventRepository.findAll().stream().filter(o -> o.getTicketId().equals(ticketId)).count();
+    }
+
+    private static void await(ThrowingCondition condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.test()) return;
+            Thread.sleep(50);
+        }
+        fail("Beklenen durum oluşmadı");
+    }
+
+    @FunctionalInterface
+    private interface ThrowingCondition {
+        boolean test() throws Exception;
+    }
+
+    // Her olayı kaydeden abone
+    static class RecordingSubscriber implements TicketEventSubscriber {
+        private final List<TicketEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onTicketEvent(TicketEvent event) {
+            received.add(event);
+        }
+
+        List<TicketEventType> received(Long ticketId) {
+            return received.stream().filter(e -> ticketId.equals(e.getTicketId())).map(TicketEvent::getType).toList();
+        }
+    }
+
+    // İstendiğinde bir kez (failNext) veya sürekli (failAlways) hata veren abone
+    static class FlakySubscriber extends RecordingSubscriber {
+        final AtomicBoolean failNext = new AtomicBoolean();
+        final AtomicBoolean failAlways = new AtomicBoolean();
+
+        @Override
+        public void onTicketEvent(TicketEvent event) {
+            if (failAlways.get() || failNext.compareAndSet(true, false)) throw new IllegalStateException("Geçici hata");
+            super.onTicketEvent(event);
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        FlakySubscriber flakySubscriber() {
+            return new FlakySubscriber();
+        }
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.secureoffice.backend.events;
+
+import com.secureoffice.backend.projects.Project;
+import com.secureoffice.backend.projects.ProjectRepository;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Olaylar commit'ten sonra yayınlandığı için bu test transaction'sız çalışır.
+// Cevap yazdırma kapalı: SSE gönderici thread'i header yazarken MockMvc'nin header'ları dolaşması yarışa giriyor.
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@ActiveProfiles("test")
+class ProjectEventsTest {
+
+    private static final String EMAIL = "events@user.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByEmailIgnoreCase(EMAIL).isEmpty()) {
+            User u = new User();
+            u.setEmail(EMAIL);
+            u.setFirstName("Olay");
+            u.setLastName("Dinleyici");
+            u.setPasswordHash("x");
+            userRepository.save(u);
+        }
+        Project p = new Project();
+        p.setName("Olay Projesi");
+        projectId = projectRepository.save(p).getId();
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void subscriberReceivesCreatedTicket_AndResumesWithLastEventId() throws Exception {
+        MockHttpServletResponse stream = mockMvc.perform(get("/api/v1/projects/" + projectId + "/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        createTicket("Akıştaki görev");
+        String first = awaitContent(stream, "event:TICKET_CREATED");
+        assertTrue(first.contains("Akıştaki görev"));
+
+        Matcher id = Pattern.compile("id:(\\d+)").matcher(first);
+        assertTrue(id.find());
+        String lastSeen = id.group(1);
+
+        // Bağlantı koptu sayalım: bu arada bir görev daha oluştu
+        createTicket("Kaçırılan görev");
+
+        MockHttpServletResponse resumed = mockMvc.perform(get("/api/v1/projects/" + projectId + "/events")
+                        .header("Last-Event-ID", lastSeen))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        String replay = awaitContent(resumed, "Kaçırılan görev");
+        assertFalse(replay.contains("Akıştaki görev"), "Görülen olay tekrar gönderilmemeli");
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void unknownLastEventId_ShouldAskForResync() throws Exception {
+        MockHttpServletResponse stream = mockMvc.perform(get("/api/v1/projects/" + projectId + "/events")
+                        .header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        awaitContent(stream, "event:" + ProjectEventBroadcaster.RESYNC_EVENT);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void missingProject_ShouldReturn404() throws Exception {
+        mockMvc.perform(get("/api/v1/projects/999999/events"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void createTicket(String title) throws Exception {
+        mockMvc.perform(post("/api/v1/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\", \"projectId\": " + projectId + "}"))
+                .andExpect(status().isCreated());
+    }
+
+    // Yazma ayrı thread'de yapılıyor; içerik gelene kadar kısa süre bekle
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            String body = response.getContentAsString(StandardCharsets.UTF_8);
+            if (body.contains(expected)) return body;
+            Thread.sleep(20);
+        }
+        fail("SSE akışında beklenen içerik gelmedi: " + expected + "\n" + response.getContentAsString(StandardCharsets.UTF_8));
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.secureoffice.backend.history;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Kayıtlar commit'ten sonra yazıldığı için bu test transaction'sız çalışır
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TicketHistoryTest {
+
+    private static final String EMAIL = "history@user.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketHistoryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByEmailIgnoreCase(EMAIL).isEmpty()) {
+            User u = new User();
+            u.setEmail(EMAIL);
+            u.setFirstName("Geçmiş");
+            u.setLastName("Test");
+            u.setPasswordHash("x");
+            userRepository.save(u);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void changes_ShouldBeRecordedPerFieldAndPagedNewestFirst() throws Exception {
+        JsonNode created = json(mockMvc.perform(post("/api/v1/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Eski başlık\", \"priority\": \"LOW\"}"))
+                .andExpect(status().isCreated()));
+        long id = created.get("id").asLong();
+
+        mockMvc.perform(patch("/api/v1/tickets/" + id + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"IN_PROGRESS\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/tickets/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Yeni başlık\", \"priority\": \"HIGH\"}"))
+                .andExpect(status().isOk());
+
+        JsonNode page = awaitHistory(id, 3);
+        JsonNode items = page.get("items");
+        assertEquals(3, items.size());
+        // Aynı güncellemedeki alanlar da ekleme sırasıyla; en yeni önce
+        assertEquals("priority", items.get(0).get("field").asText());
+        assertEquals("HIGH", items.get(0).get("newValue").asText());
+        assertEquals("title", items.get(1).get("field").asText());
+        assertEquals("Eski başlık", items.get(1).get("oldValue").asText());
+        assertEquals("status", items.get(2).get("field").asText());
+        assertEquals("OPEN", items.get(2).get("oldValue").asText());
+        assertEquals("Geçmiş", items.get(2).get("changedBy").get("firstName").asText());
+
+        JsonNode first = json(mockMvc.perform(get("/api/v1/tickets/" + id + "/history").param("limit", "2"))
+                .andExpect(status().isOk()));
+        assertEquals(2, first.get("items").size());
+        JsonNode second = json(mockMvc.perform(get("/api/v1/tickets/" + id + "/history")
+                        .param("limit", "2").param("cursor", first.get("nextCursor").asText()))
+                .andExpect(status().isOk()));
+        assertEquals(1, second.get("items").size());
+        assertEquals("status", second.get("items").get(0).get("field").asText());
+        assertTrue(second.get("nextCursor").isNull());
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void invalidCursor_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/tickets/1/history").param("cursor", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode awaitHistory(long ticketId, int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        JsonNode page = null;
+        while (System.currentTimeMillis() < deadline) {
+            page = json(mockMvc.perform(get("/api/v1/tickets/" + ticketId + "/history")).andExpect(status().isOk()));
+            if (page.get("items").size() >= expected && writer.pending() == 0) return page;
+            Thread.sleep(20);
+        }
+        fail("Geçmiş kayıtları yazılmadı: " + page);
+        return null;
+    }
+
+    private JsonNode json(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+package com.secureoffice.backend.history;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TicketHistoryWriterTest {
+
+    @Test
+    void fullQueue_DropsWithoutBlocking_AndRejectsAfterStop() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DataSource slow = mock(DataSource.class);
+        when(slow.getConnection()).thenAnswer(inv -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new SQLException("bağlantı yok");
+        });
+        // 1 kuyruk yeri; thread ilk kaydı yazarken takılı kalır
+        TicketHistoryWriter writer = new TicketHistoryWriter(slow, 1, 10);
+        writer.enqueue(List.of(entry("title")));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        writer.enqueue(List.of(entry("status"), entry("priority"), entry("assignee")));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500, "enqueue beklememeli");
+        assertEquals(1, writer.pending());
+        assertEquals(2, writer.dropped());
+
+        release.countDown();
+        writer.stop();
+        assertEquals(0, writer.pending());
+        writer.enqueue(List.of(entry("description")));
+        assertEquals(0, writer.pending());
+        assertEquals(3, writer.dropped());
+    }
+
+    private static TicketHistory entry(String field) {
+        return new TicketHistory(1L, field, "eski", "yeni", null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,104 @@
+package com.secureoffice.backend.monitoring;
+
+import com.secureoffice.backend.auth.AuthService;
+import com.secureoffice.backend.dto.request.AuthRequest;
+import com.secureoffice.backend.security.AuthenticatedUser;
+import com.secureoffice.backend.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Testlerde Prometheus registry varsayılan olarak kapalı; AutoConfigureObservability ile açılır
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtService jwtService;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private AuthService authService;
+
+    @Test
+    void prometheusEndpoint_OnlyForAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", bearer("ROLE_USER")))
+                .andExpect(status().isForbidden());
+
+        String body = scrape();
+        assertTrue(body.contains("hikaricp_connections_active"), "Hikari havuz metrikleri olmalı");
+        assertTrue(body.contains("http_server_requests_seconds_bucket"), "HTTP istekleri sabit kovalı olmalı");
+    }
+
+    @Test
+    void serviceOperations_TaggedByOutcome() throws Exception {
+        mockMvc.perform(get("/api/v1/tickets/987654").header("Authorization", bearer("ROLE_USER")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/tickets").header("Authorization", bearer("ROLE_USER")))
+                .andExpect(status().isOk());
+
+        // Detay ucu önce ETag'i hesaplar; olmayan ticket orada 404 olur
+        assertTrue(count("TicketService", "getTicketETag", "not_found") >= 1);
+        assertTrue(count("TicketService", "getAllTickets", "success") >= 1);
+
+        // Sabit kovalar: 5 ms sınırı her serinin histogramında var
+        String body = scrape();
+        assertTrue(body.lines().anyMatch(l -> l.startsWith("service_operations_seconds_bucket{")
+                && l.contains("operation=\"getTicketETag\"") && l.contains("le=\"0.005\"")), body);
+    }
+
+    @Test
+    void jwtFilterAndLogins_AreCounted() throws Exception {
+        double valid = filterCount("valid");
+        double invalid = filterCount("invalid");
+        mockMvc.perform(get("/api/v1/tickets").header("Authorization", bearer("ROLE_USER")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/tickets").header("Authorization", "Bearer bozuk.token.degeri"))
+                .andExpect(status().isUnauthorized());
+        assertEquals(valid + 1, filterCount("valid"));
+        assertEquals(invalid + 1, filterCount("invalid"));
+
+        double failures = meterRegistry.get("auth.logins").tag("result", "failure").counter().count();
+        AuthRequest wrong = new AuthRequest();
+        wrong.setEmail("yok@user.com");
+        wrong.setPassword("yanlis");
+        assertThrows(IllegalArgumentException.class, () -> authService.login(wrong));
+        assertEquals(failures + 1, meterRegistry.get("auth.logins").tag("result", "failure").counter().count());
+        assertTrue(count("AuthService", "login", "client_error") >= 1);
+    }
+
+    // Token'daki id ve roller yeterli: filtre kullanıcıyı veritabanından okumaz
+    private String bearer(String role) {
+        return "Bearer " + jwtService.createAccessToken(new AuthenticatedUser(1L, "metrics@user.com", Set.of(role)));
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus").header("Authorization", bearer(AuthenticatedUser.ROLE_ADMIN)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private long count(String service, String operation, String outcome) {
+        return meterRegistry.get("service.operations")
+                .tags("service", service, "operation", operation, "outcome", outcome)
+                .timer().count();
+    }
+
+    private double filterCount(String result) {
+        return meterRegistry.get("security.jwt.filter").tag("result", result).timer().count();
+    }
+}
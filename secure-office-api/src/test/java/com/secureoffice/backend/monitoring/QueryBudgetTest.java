@@ -0,0 +1,264 @@
+package com.secureoffice.backend.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureoffice.backend.dto.request.CreateTicketRequest;
+import com.secureoffice.backend.projects.Project;
+import com.secureoffice.backend.projects.ProjectRepository;
+import com.secureoffice.backend.security.AuthenticatedUser;
+import com.secureoffice.backend.security.JwtService;
+import com.secureoffice.backend.tickets.Comment;
+import com.secureoffice.backend.tickets.CommentRepository;
+import com.secureoffice.backend.tickets.Ticket;
+import com.secureoffice.backend.tickets.TicketRepository;
+import com.secureoffice.backend.tickets.TicketStatus;
+import com.secureoffice.backend.users.Role;
+import com.secureoffice.backend.users.RoleRepository;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * N+1 regresyon testleri: her endpoint için izin verilen en fazla SQL statement sayısı (bütçe) burada tanımlı.
+ * Bir değişiklik sorgu sayısını bütçenin üstüne çıkarırsa test kırılır.
+ * Sayım, serileştirme sırasında çalışan lazy-load sorgularını da kapsar (QueryStatsFilter'ın son değeri).
+ * Yazma testleri test transaction'ı dışında çalışır: INSERT/UPDATE'ler commit'te sayılır, veri sonra elle silinir.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class QueryBudgetTest {
+
+    private static final String EMAIL = "budget@user.com";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EntityManager entityManager;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private JwtService jwtService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Long projectId;
+    private Long userId;
+    private Long ticketId;
+
+    @BeforeEach
+    void setUp() {
+        Role roleUser = roleRepository.findByName("ROLE_USER").orElseGet(() -> {
+            Role r = new Role();
+            r.setName("ROLE_USER");
+            return roleRepository.save(r);
+        });
+
+        // 3 farklı kullanıcı: N+1 varsa kullanıcı başına ek sorgu görünür hale gelir
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User u = new User();
+            u.setEmail(i == 0 ? EMAIL : "budget" + i + "@user.com");
+            u.setFirstName("Budget" + i);
+            u.setLastName("User");
+            u.setPasswordHash("x");
+            u.getRoles().add(roleUser);
+            users.add(userRepository.save(u));
+        }
+        userId = users.get(0).getId();
+
+        Project project = new Project();
+        project.setName("Bütçe Projesi");
+        projectId = projectRepository.save(project).getId();
+
+        for (int i = 0; i < 30; i++) {
+            Ticket t = new Ticket();
+            t.setTitle("Bütçe Görevi " + i);
+            t.setCreatedBy(users.get(i % 3));
+            t.setAssignedTo(users.get((i + 1) % 3));
+            t.setProject(project);
+            t.setStatus(TicketStatus.values()[i % TicketStatus.values().length]);
+            Ticket saved = ticketRepository.save(t);
+            if (ticketId == null) ticketId = saved.getId();
+        }
+
+        Ticket commented = ticketRepository.findById(ticketId).get();
+        for (int i = 0; i < 10; i++) {
+            Comment c = new Comment();
+            c.setText("Yorum " + i);
+            c.setTicket(commented);
+            c.setCreatedBy(users.get(i % 3));
+            commentRepository.save(c);
+        }
+
+        // İstekler birinci seviye cache'ten değil veritabanından okusun
+        if (TestTransaction.isActive()) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (TestTransaction.isActive()) return; // Okuma testleri geri alınır
+        String tickets = "select id from tickets where project_id = ?";
+        jdbcTemplate.update("delete from comments where ticket_id in (" + tickets + ")", projectId);
+        jdbcTemplate.update("delete from ticket_history where ticket_id in (" + tickets + ")", projectId);
+        jdbcTemplate.update("delete from ticket_outbox where ticket_id in (" + tickets + ")", projectId);
+        jdbcTemplate.update("delete from tickets where project_id = ?", projectId);
+        jdbcTemplate.update("delete from projects where id = ?", projectId);
+        String users = "select id from users where email like 'budget%@user.com'";
+        jdbcTemplate.update("delete from user_roles where user_id in (" + users + ")");
+        jdbcTemplate.update("delete from users where email like 'budget%@user.com'");
+        // Silinen kullanıcı/proje 2. seviye cache'te kalmasın
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void listTickets_StaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/tickets").param("limit", "50"), 1);
+    }
+
+    @Test
+    void listMyTickets_StaysWithinBudget() throws Exception {
+        // UNION id sayfası + özetler; kullanıcı id'si token'dan (sorgu yok)
+        assertWithinBudget(get("/api/v1/tickets/mine").param("limit", "50")
+                .header("Authorization", "Bearer " + token()), 2);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void listProjectTickets_StaysWithinBudget() throws Exception {
+        // ETag sayacı + sayfa
+        assertWithinBudget(get("/api/v1/tickets/project/" + projectId), 2);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void getTicket_StaysWithinBudget() throws Exception {
+        // ETag lookup + projeksiyon
+        assertWithinBudget(get("/api/v1/tickets/" + ticketId), 2);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void getComments_StaysWithinBudget() throws Exception {
+        // ETag lookup + yorum/yazar adı tek projeksiyon
+        assertWithinBudget(get("/api/v1/tickets/" + ticketId + "/comments").param("limit", "5"), 2);
+        assertWithinBudget(get("/api/v1/tickets/" + ticketId + "/comments").param("order", "desc"), 2);
+    }
+
+    // Yazmalar gerçek token ile: id ve roller claim'lerden gelir, email ile kullanıcı sorgusu yok
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void createTicket_StaysWithinBudget() throws Exception {
+        CreateTicketRequest req = new CreateTicketRequest();
+        req.setTitle("Bütçe içinde yeni görev");
+        req.setProjectId(projectId);
+        // proje ve cevaptaki oluşturan (yeni eklendikleri için 2. seviye cache'te değil), sayaç UPDATE'i,
+        // outbox sequence, ticket ve outbox INSERT'leri
+        assertWithinBudget(post("/api/v1/tickets")
+                .header("Authorization", "Bearer " + token())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)), 6);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void updateStatus_StaysWithinBudget() throws Exception {
+        // ticket + ilişkileri, sayaç UPDATE'i, olay sırası (event_version UPDATE + SELECT), outbox sequence,
+        // outbox INSERT'i, ticket UPDATE'i; yetki kontrolü token'daki id/rollerle
+        assertWithinBudget(patch("/api/v1/tickets/" + ticketId + "/status")
+                .header("Authorization", "Bearer " + token())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"DONE\"}"), 7);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void listProjects_StaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/projects"), 1);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void getProject_StaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/projects/" + projectId), 1);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void getBoard_StaysWithinBudget() throws Exception {
+        // ETag sayacı + proje + durum sayıları + 3 kolon
+        assertWithinBudget(get("/api/v1/projects/" + projectId + "/board").param("perColumn", "4"), 6);
+
+        mockMvc.perform(get("/api/v1/projects/" + projectId + "/board").param("perColumn", "4"))
+                .andExpect(jsonPath("$.columns.length()").value(3))
+                .andExpect(jsonPath("$.columns[0].status").value("OPEN"))
+                .andExpect(jsonPath("$.columns[0].count").value(10))
+                .andExpect(jsonPath("$.columns[0].items.length()").value(4))
+                .andExpect(jsonPath("$.columns[0].nextCursor").isNotEmpty())
+                .andExpect(jsonPath("$.users.length()").value(3));
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void getBoardColumn_StaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/api/v1/projects/" + projectId + "/board/columns/done").param("limit", "20"), 1);
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void notModifiedPoll_CostsSingleLookup() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/tickets/project/" + projectId))
+                .andReturn().getResponse().getHeader("ETag");
+        assertWithinBudget(get("/api/v1/tickets/project/" + projectId).header("If-None-Match", etag), 1);
+    }
+
+    private String token() {
+        return jwtService.createAccessToken(new AuthenticatedUser(userId, EMAIL, Set.of("ROLE_USER")));
+    }
+
+    private void assertWithinBudget(RequestBuilder request, int budget) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(header().exists(QueryStats.HEADER_COUNT))
+                .andReturn();
+        QueryStats stats = (QueryStats) result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE);
+        assertNotNull(stats, "QueryStatsFilter çalışmadı");
+        assertTrue(stats.getStatements() <= budget, () -> result.getRequest().getMethod() + " "
+                + result.getRequest().getRequestURI() + " " + stats.getStatements()
+                + " SQL statement çalıştırdı, bütçe " + budget);
+    }
+}
@@ -0,0 +1,110 @@
+package com.secureoffice.backend.monitoring;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestLoggingTest {
+
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser
+    void requestId_EchoedOrGenerated() throws Exception {
+        mockMvc.perform(get("/api/v1/projects").header(CorrelationIdFilter.HEADER, "istemci-42"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CorrelationIdFilter.HEADER, "istemci-42"));
+
+        // Log'a yazılamayacak değer kabul edilmez, yerine yenisi üretilir
+        String generated = mockMvc.perform(get("/api/v1/projects").header(CorrelationIdFilter.HEADER, "kötü\nid"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(CorrelationIdFilter.HEADER);
+        assertNotEquals("kötü\nid", generated);
+        assertEquals(36, generated.length());
+    }
+
+    @Test
+    void rateLimiter_SuppressesAndReportsCount() {
+        AtomicLong now = new AtomicLong();
+        LogRateLimiter limiter = new LogRateLimiter(2, Duration.ofSeconds(10), now::get);
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(2, limiter.tryAcquire(), "Yeni aralığın ilk satırı bastırılanları söyler");
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+    }
+
+    @Test
+    void asyncAppender_DropsAndCountsWhenQueueIsFull() throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+
+        DroppingAsyncAppender async = new DroppingAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(2);
+        async.addAppender(slow);
+        async.start();
+
+        Logger logger = context.getLogger("drop-test");
+        logger.setAdditive(false);
+        logger.addAppender(async);
+
+        long before = DroppingAsyncAppender.droppedCount();
+        logger.warn("1"); // Worker alır ve yavaş appender'da bekler
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (async.getNumberOfElementsInQueue() > 0 && System.nanoTime() < deadline) Thread.onSpinWait();
+
+        long start = System.nanoTime();
+        for (int i = 2; i <= 5; i++) logger.warn("{}", i); // 2 ve 3 kuyruğa, 4 ve 5 atılır
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(2, DroppingAsyncAppender.droppedCount() - before);
+        assertTrue(tookMillis < 1000, "Dolu kuyruk çağıranı bekletmemeli: " + tookMillis + " ms");
+
+        release.countDown();
+        async.stop();
+        context.stop();
+    }
+}
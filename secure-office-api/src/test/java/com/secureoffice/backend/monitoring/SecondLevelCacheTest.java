@@ -0,0 +1,130 @@
+package com.secureoffice.backend.monitoring;
+
+import com.secureoffice.backend.projects.Project;
+import com.secureoffice.backend.projects.ProjectRepository;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cache'e yazım commit'te olur; bu yüzden test transaction'sız çalışır
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    private static final String ADMIN = "cache-admin@user.com";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void userByEmail_SecondLookupHitsNoDatabase() {
+        String email = "cached@user.com";
+        if (userRepository.findByEmailIgnoreCase(email).isEmpty()) userRepository.save(newUser(email));
+
+        userRepository.findByEmailIgnoreCase(email); // Isıtma
+        long before = statistics.getPrepareStatementCount();
+        User user = userRepository.findByEmailIgnoreCase(email).orElseThrow();
+
+        assertEquals(before, statistics.getPrepareStatementCount(), "İkinci arama veritabanına gitmemeli");
+        assertFalse(user.getRoles() == null);
+        assertTrue(statistics.getQueryRegionStatistics(UserRepository.USER_BY_EMAIL_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    @WithMockUser(username = ADMIN, authorities = "ROLE_ADMIN")
+    void deletedUser_IsNotServedFromCache() throws Exception {
+        User user = userRepository.save(newUser("silinecek@user.com"));
+        assertTrue(userRepository.findByEmailIgnoreCase("silinecek@user.com").isPresent()); // Cache'e girer
+
+        mockMvc.perform(delete("/api/v1/users/" + user.getId())).andExpect(status().isNoContent());
+
+        assertTrue(userRepository.findByEmailIgnoreCase("silinecek@user.com").isEmpty());
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+    }
+
+    @Test
+    @WithMockUser(username = ADMIN, authorities = "ROLE_ADMIN")
+    void deletedProject_IsNotServedFromCache() throws Exception {
+        Project p = new Project();
+        p.setName("Cache Projesi");
+        Long id = projectRepository.save(p).getId();
+        mockMvc.perform(get("/api/v1/projects/" + id)).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/v1/projects/" + id)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/projects/" + id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void ticketsVersionBump_KeepsProjectCached() {
+        Project p = new Project();
+        p.setName("Sayaç Projesi");
+        Long id = projectRepository.save(p).getId();
+        projectRepository.findById(id); // Cache'e girer
+
+        projectRepository.bumpTicketsVersion(List.of(id));
+        long before = statistics.getPrepareStatementCount();
+        assertTrue(projectRepository.findById(id).isPresent());
+
+        assertEquals(before, statistics.getPrepareStatementCount(), "Sayaç artışı Project bölgesini boşaltmamalı");
+        assertEquals(1L, projectRepository.findTicketsVersion(id).orElseThrow());
+    }
+
+    @Test
+    @WithMockUser(username = ADMIN, authorities = "ROLE_ADMIN")
+    void cacheStats_ExposeHitsAndMisses() throws Exception {
+        userRepository.findByEmailIgnoreCase(ADMIN);
+        userRepository.findByEmailIgnoreCase(ADMIN);
+
+        mockMvc.perform(get("/api/v1/monitoring/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.region == 'users.byEmail')].hits").value(1))
+                .andExpect(jsonPath("$[?(@.region == 'users.byEmail')].misses").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "regular@user.com")
+    void cacheStats_RequireAdmin() throws Exception {
+        mockMvc.perform(get("/api/v1/monitoring/cache")).andExpect(status().isForbidden());
+    }
+
+    private static User newUser(String email) {
+        User u = new User();
+        u.setEmail(email);
+        u.setFirstName("Cache");
+        u.setLastName("Test");
+        u.setPasswordHash("x");
+        return u;
+    }
+}
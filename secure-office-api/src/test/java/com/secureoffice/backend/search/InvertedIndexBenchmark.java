@@ -0,0 +1,67 @@
+package com.secureoffice.backend.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arama süresi: hedef boyut 1 milyon ticket (50 bin kelimelik sözlük). Seyrek/sık kelime, orta önek ve
+ * MAX_PREFIX_EXPANSION'ı aşan kısa önek (tüm aralık okunup sıklığa göre seçilir) ayrı ölçülür. Süre eşleşen
+ * posting sayısıyla büyür: sık kelimede 1 ms altı hedefi tutmaz (sonuçlar InvertedIndex.search'te).
+ * ./gradlew benchmark ile çalışır; daha küçük ölçüm için -Dsearch.benchmark.tickets=100000.
+ */
+@Tag("benchmark")
+class InvertedIndexBenchmark {
+
+    private static final int TICKETS = Integer.getInteger("search.benchmark.tickets", 1_000_000);
+    private static final int VOCABULARY = 50_000;
+    // Sorgu başına sabit tekrar yerine süre: 1M ticket'ta yavaş sorgular dakikalar sürmesin
+    private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    void searchLatency() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) words[i] = word(random);
+
+        InvertedIndex index = new InvertedIndex();
+        StringBuilder text = new StringBuilder();
+        for (long id = 1; id <= TICKETS; id++) {
+            text.setLength(0);
+            // Zipf benzeri dağılım: az sayıda kelime çok ticket'ta geçer
+            for (int w = 0; w < 12; w++) text.append(words[(int) (VOCABULARY * Math.pow(random.nextDouble(), 3))]).append(' ');
+            index.putTicket(id, words[random.nextInt(VOCABULARY)] + " " + words[random.nextInt(VOCABULARY)], text.toString());
+        }
+
+        System.out.printf("Index: %d ticket, %d terim%n", index.documentCount(), index.termCount());
+        String common = words[0]; // ticket'ların ~%35'inde geçer: en kötü durum, tüm posting'i skorlanır
+        report(index, "seyrek kelime", words[VOCABULARY - 1]);
+        report(index, "sık kelime", common);
+        report(index, "3 harf önek", common.substring(0, 3));
+        report(index, "2 harf önek", common.substring(0, 2));
+        report(index, "iki kelime", common.substring(0, 3) + " " + words[1].substring(0, 3));
+    }
+
+    private static void report(InvertedIndex index, String label, String query) {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) index.search(query, 20);
+        long start = System.nanoTime();
+        int hits = 0;
+        int iterations = 0;
+        while (System.nanoTime() - start < MEASURE_NANOS) {
+            hits = index.search(query, 20).size();
+            iterations++;
+        }
+        double micros = (System.nanoTime() - start) / 1000.0 / iterations;
+        System.out.printf("Arama (%s, \"%s\"): %.0f us/sorgu, %d sonuç%n", label, query, micros, hits);
+    }
+
+    private static String word(Random random) {
+        char[] c = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < c.length; i++) c[i] = (char) ('a' + random.nextInt(8)); // Dar alfabe: önekler paylaşılsın
+        return new String(c);
+    }
+}
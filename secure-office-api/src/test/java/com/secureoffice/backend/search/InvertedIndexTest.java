@@ -0,0 +1,99 @@
+package com.secureoffice.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::ticketId).toList();
+    }
+
+    @Test
+    void titleMatchRanksAboveDescriptionMatch() {
+        InvertedIndex index = new InvertedIndex();
+        index.putTicket(1L, "Yazıcı arızası", "Kat 3 ofisinde");
+        index.putTicket(2L, "VPN sorunu", "Yazıcı da çalışmıyor");
+        index.putTicket(3L, "Monitör", "Kablo eksik");
+
+        assertEquals(List.of(1L, 2L), ids(index.search("yazıcı", 10)));
+    }
+
+    @Test
+    void prefixAndAllTermsMustMatch() {
+        InvertedIndex index = new InvertedIndex();
+        index.putTicket(1L, "Login hatası", "Şifre sıfırlama çalışmıyor");
+        index.putTicket(2L, "Login ekranı yavaş", null);
+
+        assertEquals(List.of(1L), ids(index.search("log şif", 10)));
+        assertEquals(2, index.search("logi", 10).size());
+        assertTrue(index.search("", 10).isEmpty());
+    }
+
+    @Test
+    void updateAndRemoveRetractOldTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.putTicket(1L, "Eski başlık", null);
+        index.addComment(1L, 10L, "sunucu yeniden başlatıldı");
+        index.addComment(1L, 10L, "sunucu yeniden başlatıldı"); // tekrar teslim: etkisiz
+
+        index.putTicket(1L, "Yeni başlık", null);
+        assertTrue(index.search("eski", 10).isEmpty());
+        // Yorum katkısı başlık güncellemesinden etkilenmez
+        assertEquals(List.of(1L), ids(index.search("sunucu", 10)));
+
+        index.remove(1L);
+        assertTrue(index.search("yeni", 10).isEmpty());
+        assertTrue(index.search("sunucu", 10).isEmpty());
+        assertEquals(0, index.documentCount());
+    }
+
+    // Küçük id'li yorumun transaction'ı daha geç commit olabilir: olay sırası id sırası değildir
+    @Test
+    void commentsArrivingOutOfIdOrderAreAllIndexed() {
+        InvertedIndex index = new InvertedIndex();
+        index.putTicket(1L, "Yazıcı", null);
+        index.addComment(1L, 11L, "toner bitti");
+        index.addComment(1L, 10L, "kağıt sıkıştı");
+        index.addComment(1L, 10L, "kağıt sıkıştı"); // tekrar teslim: etkisiz
+
+        assertEquals(List.of(1L), ids(index.search("toner", 10)));
+        assertEquals(List.of(1L), ids(index.search("kağıt", 10)));
+        index.remove(1L);
+        assertTrue(index.search("kağıt", 10).isEmpty());
+    }
+
+    @Test
+    void limitKeepsBestScores() {
+        InvertedIndex index = new InvertedIndex();
+        for (long i = 1; i <= 100; i++) {
+            index.putTicket(i, i % 10 == 0 ? "disk disk dolu" : "disk", null);
+        }
+        List<Long> top = ids(index.search("disk", 5));
+        assertEquals(5, top.size());
+        assertTrue(top.stream().allMatch(id -> id % 10 == 0));
+    }
+
+    // Önek MAX_PREFIX_EXPANSION'dan çok terime açılıyor: alfabetik olarak sonda ama sık geçen terim kaybolmamalı
+    @Test
+    void prefixExpansionKeepsMostFrequentTerms() {
+        InvertedIndex index = new InvertedIndex();
+        long id = 1;
+        for (int i = 0; i < InvertedIndex.MAX_PREFIX_EXPANSION + 10; i++) {
+            index.putTicket(id++, String.format("kaba%03d", i), null);
+        }
+        List<Long> kablo = List.of(1000L, 1001L, 1002L);
+        for (long k : kablo) index.putTicket(k, "Kablo kopuk", null);
+
+        List<Long> hits = ids(index.search("kab", 1000));
+        assertTrue(hits.containsAll(kablo), hits.toString());
+        assertEquals(InvertedIndex.MAX_PREFIX_EXPANSION - 1 + kablo.size(), hits.size());
+
+        // Kelimenin kendisi sık olmasa da her zaman açılımda
+        index.putTicket(2000L, "kab", null);
+        assertTrue(ids(index.search("kab", 1000)).contains(2000L));
+    }
+}
@@ -0,0 +1,108 @@
+package com.secureoffice.backend.security;
+
+import com.secureoffice.backend.users.Role;
+import com.secureoffice.backend.users.RoleRepository;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Token'daki kullanıcılar veritabanında yok: yetki kararı sadece claim'lerden verilmeli.
+// Rol claim'i olmayan eski token'ların kullanıcısı ise veritabanından çözülür
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthenticationFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Value("${app.jwt.secret}")
+    private String secret;
+
+    @Test
+    void adminRoleClaim_PassesPreAuthorize() throws Exception {
+        String token = jwtService.createAccessToken(
+                new AuthenticatedUser(9001L, "token-admin@user.com", Set.of("ROLE_ADMIN", "ROLE_USER")));
+        mockMvc.perform(get("/api/v1/monitoring/cache").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userRoleClaim_IsForbidden() throws Exception {
+        String token = jwtService.createAccessToken(
+                new AuthenticatedUser(9002L, "token-user@user.com", Set.of("ROLE_USER")));
+        mockMvc.perform(get("/api/v1/monitoring/cache").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void invalidToken_IsUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/monitoring/cache").header("Authorization", "Bearer bozuk"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void legacyTokenOfAdmin_GetsRolesFromDatabase() throws Exception {
+        User admin = new User();
+        admin.setEmail("eski-admin-" + UUID.randomUUID() + "@user.com");
+        admin.setFirstName("Eski");
+        admin.setLastName("Token");
+        admin.setPasswordHash("-");
+        admin.getRoles().add(role(AuthenticatedUser.ROLE_ADMIN));
+        userRepository.save(admin);
+
+        mockMvc.perform(get("/api/v1/monitoring/cache").header("Authorization", "Bearer " + legacyToken(admin.getEmail())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void legacyTokenOfUnknownUser_IsUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/tickets").header("Authorization", "Bearer " + legacyToken("yok@user.com")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // uid ve rol claim'leri eklenmeden önce üretilen token biçimi
+    private String legacyToken(String email) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(email)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(600)))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private Role role(String name) {
+        return roleRepository.findByName(name).orElseGet(() -> {
+            Role role = new Role();
+            role.setName(name);
+            return roleRepository.save(role);
+        });
+    }
+}
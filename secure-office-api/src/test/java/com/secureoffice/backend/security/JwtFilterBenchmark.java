@@ -0,0 +1,83 @@
+package com.secureoffice.backend.security;
+
+import com.secureoffice.backend.users.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Set;
+
+/**
+ * JWT filtresinin istek başı maliyeti: eski yol (her çağrıda yeni parser, token iki kez doğrulanır)
+ * ile yeni yol (hazır parser + doğrulanmış token cache'i). ./gradlew benchmark ile çalışır, süreleri yazdırır.
+ */
+@Tag("benchmark")
+class JwtFilterBenchmark {
+
+    private static final String SECRET = "bench-secret-bench-secret-bench-secret-12";
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void filterCostPerRequest() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 30, 10_000, Clock.systemUTC());
+        String token = jwtService.createAccessToken(new AuthenticatedUser(1L, "bench@user.com", Set.of("ROLE_USER")));
+        TokenRevocationList revocations = new TokenRevocationList(
+                Mockito.mock(TokenRevocationRepository.class), 30, 10_000, 0, Clock.systemUTC());
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, revocations,
+                Mockito.mock(UserRepository.class), new SimpleMeterRegistry());
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        double before = measure(() -> legacyFilter(key, token));
+        double after = measure(() -> {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tickets");
+            request.addHeader("Authorization", "Bearer " + token);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        });
+
+        System.out.printf("JWT filtre maliyeti: önce %.0f ns/istek, sonra %.0f ns/istek (%.1fx)%n",
+                before, after, before / after);
+    }
+
+    // Değişiklikten önceki davranış: isTokenValid + extractSubject, her biri yeni parser ile tam doğrulama
+    private static void legacyFilter(SecretKey key, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tickets");
+        request.addHeader("Authorization", "Bearer " + token);
+        String t = request.getHeader("Authorization").substring(7).trim();
+        parse(key, t);
+        Claims claims = parse(key, t);
+        if (claims.getSubject() == null) throw new IllegalStateException();
+    }
+
+    private static Claims parse(SecretKey key, String token) {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    private static double measure(Body body) throws Exception {
+        for (int i = 0; i < WARMUP; i++) body.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) body.run();
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+}
@@ -0,0 +1,83 @@
+package com.secureoffice.backend.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-1234";
+
+    // Elle ilerletilen saat: süre dolumu beklemeden test edilir
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T10:00:00Z");
+
+        void advance(Duration d) { now = now.plus(d); }
+        @Override public Instant instant() { return now; }
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+    }
+
+    private static AuthenticatedUser user(String email) {
+        return new AuthenticatedUser(7L, email, Set.of("ROLE_USER"));
+    }
+
+    @Test
+    void verify_CachesValidTokenUntilExpiry() {
+        MutableClock clock = new MutableClock();
+        JwtService jwt = new JwtService(SECRET, 30, 100, clock);
+        String token = jwt.createAccessToken(user("a@b.com"));
+
+        assertEquals("a@b.com", jwt.verify(token).getSubject());
+        assertEquals(1, jwt.verifiedCacheSize());
+        assertEquals("a@b.com", jwt.verify(token).getSubject());
+
+        clock.advance(Duration.ofMinutes(31));
+        // Cache'teki kayıt da süresiyle birlikte düşer
+        assertThrows(JwtException.class, () -> jwt.verify(token));
+        assertEquals(0, jwt.verifiedCacheSize());
+    }
+
+    @Test
+    void verify_RejectsTamperedAndForeignTokens() {
+        JwtService jwt = new JwtService(SECRET, 30, 100, Clock.systemUTC());
+        String token = jwt.createAccessToken(user("a@b.com"));
+        jwt.verify(token); // Geçerli hali cache'te
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> jwt.verify(tampered));
+
+        JwtService other = new JwtService(SECRET.replace('1', '9'), 30, 100, Clock.systemUTC());
+        assertThrows(JwtException.class, () -> jwt.verify(other.createAccessToken(user("a@b.com"))));
+        assertFalse(jwt.isTokenValid("bozuk"));
+    }
+
+    @Test
+    void verify_StaysBoundedWhenCacheIsFull() {
+        JwtService jwt = new JwtService(SECRET, 30, 2, Clock.systemUTC());
+        for (int i = 0; i < 5; i++) {
+            String token = jwt.createAccessToken(user("u" + i + "@b.com"));
+            assertEquals("u" + i + "@b.com", jwt.verify(token).getSubject());
+        }
+        assertEquals(2, jwt.verifiedCacheSize());
+    }
+
+    @Test
+    void toPrincipal_ReadsIdAndRolesFromClaims() {
+        JwtService jwt = new JwtService(SECRET, 30, 100, Clock.systemUTC());
+        String token = jwt.createAccessToken(new AuthenticatedUser(42L, "admin@b.com", Set.of("ROLE_ADMIN", "ROLE_USER")));
+
+        AuthenticatedUser principal = jwt.toPrincipal(jwt.verify(token));
+        assertEquals(42L, principal.getId());
+        assertEquals("admin@b.com", principal.getName());
+        assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), principal.getRoles());
+        assertTrue(principal.isAdmin());
+    }
+}
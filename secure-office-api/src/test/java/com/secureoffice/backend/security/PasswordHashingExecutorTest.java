@@ -0,0 +1,65 @@
+package com.secureoffice.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    void fullQueue_FailsFastWith429AndRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.encode(any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        // 1 thread + 1 kuyruk yeri: üçüncü istek beklemeden reddedilmeli
+        PasswordHashingExecutor hasher = new PasswordHashingExecutor(slow, 10, 1, 1, 2);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        while (hasher.stats().getQueueDepth() == 0) Thread.onSpinWait();
+
+        PasswordHashingExecutor.HashingBusyException busy =
+                assertThrows(PasswordHashingExecutor.HashingBusyException.class, () -> hasher.encode("c"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, busy.getStatusCode());
+        assertEquals("2", busy.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, hasher.stats().getCompleted());
+        assertEquals(1, hasher.stats().getRejected());
+        hasher.shutdown();
+    }
+
+    @Test
+    void matchesOnPool_AndDetectsCostChange() {
+        PasswordHashingExecutor hasher = new PasswordHashingExecutor(new BCryptPasswordEncoder(5), 5, 0, 8, 1);
+        String current = hasher.encode("Sifre123!");
+        String older = new BCryptPasswordEncoder(4).encode("Sifre123!");
+
+        assertTrue(hasher.matches("Sifre123!", current));
+        assertTrue(hasher.matches("Sifre123!", older));
+        assertFalse(hasher.matches("yanlis", current));
+
+        assertFalse(hasher.needsRehash(current));
+        assertTrue(hasher.needsRehash(older));
+        assertTrue(hasher.stats().getAvgMillis() > 0);
+        hasher.shutdown();
+    }
+}
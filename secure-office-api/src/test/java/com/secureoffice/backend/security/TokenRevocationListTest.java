@@ -0,0 +1,109 @@
+package com.secureoffice.backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-1234";
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T10:00:00Z");
+
+        void advance(Duration d) { now = now.plus(d); }
+        @Override public Instant instant() { return now; }
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+    }
+
+    private MutableClock clock;
+    private JwtService jwt;
+    private TokenRevocationRepository repository;
+    private TokenRevocationList revocations;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        jwt = new JwtService(SECRET, 30, 100, clock);
+        repository = mock(TokenRevocationRepository.class);
+        when(repository.findLive(any())).thenReturn(List.of());
+        revocations = new TokenRevocationList(repository, 30, 16, 0, clock);
+    }
+
+    private Claims issue(long userId) {
+        return jwt.verify(jwt.createAccessToken(new AuthenticatedUser(userId, "u" + userId + "@b.com", Set.of("ROLE_USER"))));
+    }
+
+    @Test
+    void revokedToken_IsRejectedUntilItExpires() {
+        Claims loggedOut = issue(1L);
+        Claims other = issue(1L);
+
+        revocations.revokeToken(loggedOut);
+        assertTrue(revocations.isRevoked(loggedOut));
+        assertFalse(revocations.isRevoked(other), "Aynı kullanıcının diğer oturumu etkilenmemeli");
+        verify(repository).save(any(TokenRevocation.class));
+
+        // Token'ın süresi dolunca kayıt da gereksiz: sync atar
+        clock.advance(Duration.ofMinutes(31));
+        revocations.sync();
+        assertEquals(0, revocations.size());
+    }
+
+    @Test
+    void revokedUser_RejectsOnlyTokensIssuedBefore() {
+        Claims before = issue(2L);
+        clock.advance(Duration.ofSeconds(5));
+        revocations.revokeUser(2L);
+        clock.advance(Duration.ofSeconds(5));
+        Claims after = issue(2L);
+
+        assertTrue(revocations.isRevoked(before));
+        assertFalse(revocations.isRevoked(after));
+        assertFalse(revocations.isRevoked(issue(3L)));
+    }
+
+    @Test
+    void sync_LoadsRevocationsFromOtherInstances_AndGrowsFilter() {
+        Claims revokedElsewhere = issue(4L);
+        OffsetDateTime now = OffsetDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+        when(repository.findLive(any())).thenReturn(List.of(
+                new TokenRevocation("jti:" + revokedElsewhere.getId(), now, now.plusMinutes(30))));
+        assertFalse(revocations.isRevoked(revokedElsewhere));
+
+        revocations.sync();
+        assertTrue(revocations.isRevoked(revokedElsewhere));
+
+        // Beklenen kapasitenin (16) üstüne çıkınca filtre yeniden kurulur; eski kayıtlar kaybolmaz
+        for (long id = 100; id < 150; id++) revocations.revokeUser(id);
+        assertTrue(revocations.isRevoked(revokedElsewhere));
+        clock.advance(Duration.ofSeconds(1));
+        assertFalse(revocations.isRevoked(issue(5L)));
+    }
+
+    @Test
+    void bloomFilter_HasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.put("jti:" + i);
+        for (int i = 0; i < 10_000; i++) assertTrue(filter.mightContain("jti:" + i));
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain("jti:" + i)) falsePositives++;
+        }
+        assertTrue(falsePositives < 2_000, "Yanlış pozitif oranı çok yüksek: " + falsePositives);
+    }
+}
@@ -14,13 +14,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -48,6 +56,12 @@ class TicketControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Long testProjectId;
 
     @BeforeEach
@@ -118,4 +132,270 @@ class TicketControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isUnauthorized()); // HTTP 401 (Yetkisiz) bekliyoruz
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "test@user.com", roles = "USER")
+    void getTicketsByProject_ShouldPageWithCursor() throws Exception {
+        // 3 görev oluştur, 2'şerli sayfalarla oku
+        User owner = userRepository.findByEmailIgnoreCase("test@user.com").get();
+        Project project = projectRepository.findById(testProjectId).get();
+        for (int i = 1; i <= 3; i++) {
+            Ticket t = new Ticket();
+            t.setTitle("Sayfa Görevi " + i);
+            t.setCreatedBy(owner);
+            t.setProject(project);
+            ticketRepository.save(t);
+        }
+
+        String body = mockMvc.perform(get("/api/v1/tickets/project/" + testProjectId).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/tickets/project/" + testProjectId).param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "test@user.com", roles = "USER")
+    void listTickets_ShouldReturn400_WhenCursorIsGarbage() throws Exception {
+        mockMvc.perform(get("/api/v1/tickets").param("cursor", "bozuk!!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "test@user.com", roles = "USER")
+    void batch_ShouldReportEachItemSeparately() throws Exception {
+        String body = """
+                {"operations": [
+                  {"op": "CREATE", "title": "Toplu 1", "priority": "HIGH", "projectId": %d},
+                  {"op": "CREATE", "title": "Toplu 2", "projectId": 999999},
+                  {"op": "UPDATE_STATUS", "ticketId": 999999, "status": "DONE"}
+                ]}
+                """.formatted(testProjectId);
+
+        mockMvc.perform(post("/api/v1/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].ticketId").exists())
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andExpect(jsonPath("$.results[2].status").value(404));
+
+        // Başarısız kalemler başarılıyı geri almaz: tek satır yazıldı
+        ticketRepository.flush();
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from tickets where title in ('Toplu 1', 'Toplu 2')", Integer.class));
+    }
+
+    @Test
+    @WithMockUser(username = "test@user.com", roles = "USER")
+    void batch_ShouldPersistCreatesStatusChangesAndReassignments() throws Exception {
+        User me = userRepository.findByEmailIgnoreCase("test@user.com").get();
+        User other = new User();
+        other.setEmail("devralan@user.com");
+        other.setFirstName("Devralan");
+        other.setLastName("User");
+        other.setPasswordHash("x");
+        userRepository.save(other);
+        Ticket toClose = new Ticket();
+        toClose.setTitle("Kapanacak");
+        toClose.setCreatedBy(me);
+        ticketRepository.save(toClose);
+        Ticket toHandOver = new Ticket();
+        toHandOver.setTitle("Devredilecek");
+        toHandOver.setCreatedBy(me);
+        toHandOver.setAssignedTo(me);
+        ticketRepository.save(toHandOver);
+
+        String body = """
+                {"operations": [
+                  {"op": "CREATE", "title": "Toplu yeni", "priority": "LOW", "projectId": %d},
+                  {"op": "UPDATE_STATUS", "ticketId": %d, "status": "done"},
+                  {"op": "REASSIGN", "ticketId": %d, "assignedToUserId": %d},
+                  {"op": "UPDATE_STATUS", "ticketId": %d}
+                ]}
+                """.formatted(testProjectId, toClose.getId(), toHandOver.getId(), other.getId(), toClose.getId());
+
+        String response = mockMvc.perform(post("/api/v1/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(3))
+                .andExpect(jsonPath("$.results[1].status").value(200))
+                .andExpect(jsonPath("$.results[2].status").value(200))
+                .andExpect(jsonPath("$.results[3].status").value(400)) // status yok
+                .andReturn().getResponse().getContentAsString();
+        long createdId = objectMapper.readTree(response).get("results").get(0).get("ticketId").asLong();
+
+        // Entity'ler değil, flush sonrası tablodaki satırlar
+        ticketRepository.flush();
+        Map<String, Object> created = jdbcTemplate.queryForMap(
+                "select title, priority, status, project_id, created_by from tickets where id = ?", createdId);
+        assertEquals("Toplu yeni", created.get("title"));
+        assertEquals("LOW", created.get("priority"));
+        assertEquals("OPEN", created.get("status"));
+        assertEquals(testProjectId, ((Number) created.get("project_id")).longValue());
+        assertEquals(me.getId(), ((Number) created.get("created_by")).longValue());
+        assertEquals("DONE", jdbcTemplate.queryForObject(
+                "select status from tickets where id = ?", String.class, toClose.getId()));
+        assertEquals(other.getId(), jdbcTemplate.queryForObject(
+                "select assigned_to from tickets where id = ?", Long.class, toHandOver.getId()));
+    }
+
+    @Test
+    @WithMockUser(username = "test@user.com", roles = "USER")
+    void mine_ShouldListCreatedAndAssignedOnce_Paged() throws Exception {
+        User me = userRepository.findByEmailIgnoreCase("test@user.com").get();
+        User other = new User();
+        other.setEmail("other@user.com");
+        other.setFirstName("Diğer");
+        other.setLastName("User");
+        other.setPasswordHash("x");
+        userRepository.save(other);
+
+        saveTicket("Kendime açtığım", me, me); // İki koldan da gelir, bir kez listelenmeli
+        saveTicket("Bana atanan", other, me);
+        saveTicket("Başkasının", other, other);
+
+        String body = mockMvc.perform(get("/api/v1/tickets/mine").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Bana atanan"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/tickets/mine").param("limit", "1").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Kendime açtığım"))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    private void saveTicket(String title, User createdBy, User assignedTo) {
+        Ticket t = new Ticket();
+        t.setTitle(title);
+        t.setCreatedBy(createdBy);
+        t.setAssignedTo(assignedTo);
+        ticketRepository.saveAndFlush(t);
+    }
+
+    // Index outbox üzerinden commit'ten sonra güncellenir: bu test transaction dışında çalışır, dağıtımı bekler
+    @Test
+    @WithMockUser(username = "test@user.com", roles = "USER")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void search_ShouldFindByTitlePrefix() throws Exception {
+        CreateTicketRequest request = new CreateTicketRequest();
+        request.setTitle("Kuantumlu yazıcı arızası");
+        request.setProjectId(testProjectId);
+        String created = mockMvc.perform(post("/api/v1/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long ticketId = objectMapper.readTree(created).get("id").asLong();
+
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!mockMvc.perform(get("/api/v1/tickets/search").param("q", "kuantum"))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8).contains("Kuantumlu")
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+
+            mockMvc.perform(get("/api/v1/tickets/search").param("q", "kuantum"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].title").value("Kuantumlu yazıcı arızası"));
+        } finally {
+            // Commit edildi: sonraki testlerin listelerine karışmasın
+            mockMvc.perform(delete("/api/v1/tickets/" + ticketId)).andExpect(status().is2xxSuccessful());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "test@user.com", roles = "USER")
+    void comments_ShouldPageNewestFirstAndCountOnTicket() throws Exception {
+        User owner = userRepository.findByEmailIgnoreCase("test@user.com").get();
+        Ticket t = new Ticket();
+        t.setTitle("Yorumlu Görev");
+        t.setCreatedBy(owner);
+        Long ticketId = ticketRepository.save(t).getId();
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/v1/tickets/" + ticketId + "/comments")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"text\": \"Yorum " + i + "\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.createdBy.firstName").value("Test"));
+        }
+
+        String body = mockMvc.perform(get("/api/v1/tickets/" + ticketId + "/comments")
+                        .param("order", "desc").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].text").value("Yorum 3"))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+        mockMvc.perform(get("/api/v1/tickets/" + ticketId + "/comments")
+                        .param("order", "desc").param("limit", "2").param("cursor", cursor))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].text").value("Yorum 1"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        // Yorumlardan önce yüklenmiş entity'nin kaydı sayacı eski değerle ezmez
+        t.setTitle("Yorumlu Görev (düzenlendi)");
+        ticketRepository.saveAndFlush(t);
+
+        mockMvc.perform(get("/api/v1/tickets/" + ticketId))
+                .andExpect(jsonPath("$.commentCount").value(3))
+                .andExpect(jsonPath("$.lastCommentAt").exists());
+
+        mockMvc.perform(post("/api/v1/tickets/999999/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"boşluğa\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "test@user.com", roles = "USER")
+    void conditionalGet_ShouldReturn304_UntilTicketChanges() throws Exception {
+        User owner = userRepository.findByEmailIgnoreCase("test@user.com").get();
+        Ticket t = new Ticket();
+        t.setTitle("ETag Görevi");
+        t.setCreatedBy(owner);
+        t.setProject(projectRepository.findById(testProjectId).get());
+        Long ticketId = ticketRepository.save(t).getId();
+
+        String etag = mockMvc.perform(get("/api/v1/tickets/" + ticketId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String boardEtag = mockMvc.perform(get("/api/v1/projects/" + testProjectId + "/board"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/tickets/" + ticketId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/projects/" + testProjectId + "/board").header("If-None-Match", boardEtag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/v1/tickets/" + ticketId + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"DONE\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/tickets/" + ticketId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"));
+        mockMvc.perform(get("/api/v1/projects/" + testProjectId + "/board").header("If-None-Match", boardEtag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,205 @@
+package com.secureoffice.backend.tickets;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureoffice.backend.security.AuthenticatedUser;
+import com.secureoffice.backend.security.JwtService;
+import com.secureoffice.backend.users.User;
+import com.secureoffice.backend.users.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Gövde ayrı thread'de yazılır (StreamingResponseBody): veriler commit edilmiş olmalı, test transaction'sız çalışır
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TicketExportTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TicketRepository ticketRepository;
+    @Autowired private TicketExportService ticketExportService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        owner = user("sahip");
+        other = user("diger");
+    }
+
+    @Test
+    void csv_QuotesSpecialCharactersAndDefusesFormulas() throws Exception {
+        ticket(owner, null, "Virgül, \"tırnak\"", "satır 1\nsatır 2");
+        ticket(owner, null, "=HYPERLINK(\"http://x\")", "+1");
+        ticket(owner, null, "@SUM(A1)", "-2");
+
+        String csv = export("csv", owner);
+
+        assertTrue(csv.startsWith("id,title,description,status,priority,"), csv);
+        assertTrue(csv.contains(",\"Virgül, \"\"tırnak\"\"\",\"satır 1\nsatır 2\",OPEN,"), csv);
+        // Tablo programında formül olarak çalışmaz: başına ' eklenir, gerekiyorsa tırnağa alınır
+        assertTrue(csv.contains(",\"'=HYPERLINK(\"\"http://x\"\")\",'+1,OPEN,"), csv);
+        assertTrue(csv.contains(",'@SUM(A1),'-2,OPEN,"), csv);
+    }
+
+    @Test
+    void ndjson_OneJsonObjectPerLine() throws Exception {
+        Ticket t = ticket(owner, other, "NDJSON \"satırı\"", "çok\nsatırlı");
+
+        String body = export("ndjson", owner);
+        Map<Long, JsonNode> byId = new HashMap<>();
+        for (String line : body.split("\n")) {
+            JsonNode node = objectMapper.readTree(line); // Her satır tek başına geçerli JSON
+            byId.put(node.get("id").asLong(), node);
+        }
+
+        JsonNode row = byId.get(t.getId());
+        assertEquals("NDJSON \"satırı\"", row.get("title").asText());
+        assertEquals("çok\nsatırlı", row.get("description").asText());
+        assertEquals(owner.getId(), row.get("createdById").asLong());
+        assertEquals(other.getId(), row.get("assignedToId").asLong());
+        assertTrue(row.get("projectId").isNull());
+        assertTrue(body.endsWith("\n"));
+    }
+
+    @Test
+    void export_NonAdminGetsOwnAndAssigned_AdminGetsAll() throws Exception {
+        Ticket created = ticket(owner, null, "Benim", null);
+        Ticket assigned = ticket(other, owner, "Bana atanan", null);
+        Ticket foreign = ticket(other, null, "Başkasının", null);
+
+        Set<Long> mine = ids(export("ndjson", owner));
+        assertTrue(mine.contains(created.getId()));
+        assertTrue(mine.contains(assigned.getId()));
+        assertFalse(mine.contains(foreign.getId()));
+
+        Set<Long> all = ids(export("ndjson", bearer(other, AuthenticatedUser.ROLE_ADMIN)));
+        assertTrue(all.containsAll(Set.of(created.getId(), assigned.getId(), foreign.getId())));
+    }
+
+    // Çıktı sabit boyutlu tampondan parça parça akar; tek seferde tüm gövde yazılmaz
+    @Test
+    void largeExport_IsWrittenInBoundedChunks() throws Exception {
+        int rows = 6_000;
+        long firstId = 900_000_000L; // Sequence'ın vermeyeceği aralık; test sonunda silinir
+        String description = "x".repeat(200);
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Object[]> args = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            args.add(new Object[]{firstId + i, "Toplu " + i, description, owner.getId(), now, now});
+        }
+        jdbcTemplate.batchUpdate("insert into tickets (id, title, description, status, priority, created_by, "
+                + "created_at, updated_at, comment_count) values (?, ?, ?, 'OPEN', 'LOW', ?, ?, ?, 0)", args);
+        try {
+            ChunkRecorder out = new ChunkRecorder();
+            ticketExportService.writeCsv(out, new AuthenticatedUser(owner.getId(), owner.getEmail(), Set.of("ROLE_USER")));
+
+            assertTrue(out.total > rows * 200L, "Tüm satırlar yazılmalı: " + out.total);
+            assertTrue(out.writes > 50, "Parça sayısı: " + out.writes);
+            assertTrue(out.largest <= 32 * 1024, "En büyük parça: " + out.largest);
+        } finally {
+            jdbcTemplate.update("delete from tickets where id between ? and ?", firstId, firstId + rows - 1);
+        }
+    }
+
+    @Test
+    void export_UnknownFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/tickets/export").param("format", "xlsx")
+                        .header("Authorization", bearer(owner, "ROLE_USER")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(String format, User user) throws Exception {
+        return export(format, bearer(user, "ROLE_USER"));
+    }
+
+    // Controller hemen döner (async başlar), gövde async dispatch'te tamamlanır
+    private String export(String format, String bearer) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/tickets/export").param("format", format)
+                        .header("Authorization", bearer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Content-Disposition"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private Set<Long> ids(String ndjson) throws Exception {
+        Set<Long> ids = new HashSet<>();
+        for (String line : ndjson.split("\n")) ids.add(objectMapper.readTree(line).get("id").asLong());
+        return ids;
+    }
+
+    private Ticket ticket(User createdBy, User assignedTo, String title, String description) {
+        Ticket t = new Ticket();
+        t.setTitle(title);
+        t.setDescription(description);
+        t.setCreatedBy(createdBy);
+        t.setAssignedTo(assignedTo);
+        return ticketRepository.save(t);
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setEmail("export-" + name + "-" + UUID.randomUUID() + "@user.com");
+        user.setFirstName(name);
+        user.setLastName("Export");
+        user.setPasswordHash("-");
+        return userRepository.save(user);
+    }
+
+    private String bearer(User user, String role) {
+        return "Bearer " + jwtService.createAccessToken(new AuthenticatedUser(user.getId(), user.getEmail(), Set.of(role)));
+    }
+
+    private static final class ChunkRecorder extends OutputStream {
+        long total;
+        int writes;
+        int largest;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            total += len;
+            writes++;
+            largest = Math.max(largest, len);
+        }
+    }
+}
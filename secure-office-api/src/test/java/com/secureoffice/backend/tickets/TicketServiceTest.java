@@ -1,8 +1,12 @@
 package com.secureoffice.backend.tickets;
 
 import com.secureoffice.backend.dto.request.CreateTicketRequest;
+import com.secureoffice.backend.events.TicketEventPublisher;
+import com.secureoffice.backend.history.TicketHistoryService;
 import com.secureoffice.backend.projects.Project;
 import com.secureoffice.backend.projects.ProjectRepository;
+import com.secureoffice.backend.search.TicketSearchIndex;
+import com.secureoffice.backend.security.AuthenticatedUser;
 import com.secureoffice.backend.users.User;
 import com.secureoffice.backend.users.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -13,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +32,12 @@ class TicketServiceTest {
     private UserRepository userRepository;
     @Mock
     private ProjectRepository projectRepository;
+    @Mock
+    private TicketSearchIndex ticketSearchIndex;
+    @Mock
+    private TicketEventPublisher eventPublisher;
+    @Mock
+    private TicketHistoryService ticketHistoryService;
 
     @InjectMocks // Sahteleri TicketService'in içine yerleştir
     private TicketService ticketService;
@@ -54,13 +65,14 @@ class TicketServiceTest {
         mockProject.setId(1L);
 
         // Mock Davranışları (Senaryo)
-        when(userRepository.findByEmailIgnoreCase(userEmail)).thenReturn(Optional.of(mockUser));
+        // Kimlik token'dan geliyor: email ile arama yok, sadece id'den referans
+        when(userRepository.getReferenceById(99L)).thenReturn(mockUser);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(mockProject));
         // Kayıt edilince, kaydedilen nesneyi geri dön (input -> output)
         when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // --- WHEN (Eylem) ---
-        Ticket result = ticketService.createTicket(request, userEmail);
+        Ticket result = ticketService.createTicket(request, new AuthenticatedUser(99L, userEmail, Set.of("ROLE_USER")));
 
         // --- THEN (Kontrol) ---
         assertNotNull(result); // Sonuç boş olmamalı
@@ -70,6 +82,7 @@ class TicketServiceTest {
 
         // Veritabanına gerçekten 'save' metodu çağrıldı mı?
         verify(ticketRepository, times(1)).save(any(Ticket.class));
+        verify(userRepository, never()).findByEmailIgnoreCase(any());
     }
 
     // --- TEST 2: Proje Bulunamazsa Hata Vermeli ---
@@ -80,16 +93,13 @@ class TicketServiceTest {
         CreateTicketRequest request = new CreateTicketRequest();
         request.setProjectId(999L); // OLMAYAN bir ID
 
-        // Kullanıcı var (önce kullanıcıya bakıyor kod, o yüzden bunu bulması lazım)
-        when(userRepository.findByEmailIgnoreCase(userEmail)).thenReturn(Optional.of(new User()));
-
         // AMA Proje yok (Empty dönüyoruz)
         when(projectRepository.findById(999L)).thenReturn(Optional.empty());
 
         // --- WHEN & THEN ---
         // Kodun hata fırlatmasını bekliyoruz
         assertThrows(ResponseStatusException.class, () -> {
-            ticketService.createTicket(request, userEmail);
+            ticketService.createTicket(request, new AuthenticatedUser(99L, userEmail, Set.of("ROLE_USER")));
         });
 
         // Bu senaryoda ticketRepository.save() ASLA çağrılmamalı (çünkü hata alıp durmalı)
@@ -29,6 +29,7 @@ function Login() {
 
             if (token) {
                 localStorage.setItem("token", token);
+                if (res.data.refreshToken) localStorage.setItem("refreshToken", res.data.refreshToken);
                 console.log("TOKEN BAŞARIYLA KAYDEDİLDİ:", token);
                 window.location.href = "/projects";
             } else {
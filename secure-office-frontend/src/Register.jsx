@@ -34,6 +34,7 @@ const Register = () => {
 
             if (token) {
                 localStorage.setItem('token', token);
+                if (response.data.refreshToken) localStorage.setItem('refreshToken', response.data.refreshToken);
                 alert("Kayıt Başarılı! Token Kaydedildi.");
                 // İstersen burada yönlendirme yap: window.location.href = '/dashboard';
             } else {
@@ -9,6 +9,7 @@ const EditTicketModal = ({ editingTicket, setEditingTicket, users, onUpdateSucce
     // State Yönetimi artık Modalin içinde (Encapsulation)
     const [currentTicket, setCurrentTicket] = useState(null);
     const [comments, setComments] = useState([]);
+    const [olderCursor, setOlderCursor] = useState(null);
     const [newComment, setNewComment] = useState("");
 
     // Modal açıldığında verileri senkronize et
@@ -19,14 +20,28 @@ const EditTicketModal = ({ editingTicket, setEditingTicket, users, onUpdateSucce
         }
     }, [editingTicket]);
 
-    // API: Yorumları Çek
+    // API: Yorumları Çek (en yeni 20 yorum; sunucu yeniden eskiye verir, ekranda eskiden yeniye gösteriyoruz)
     const fetchComments = async (ticketId) => {
         try {
-            const res = await api.get(`/tickets/${ticketId}/comments`);
-            setComments(res.data || []); // Data yoksa boş dizi ata
+            const res = await api.get(`/tickets/${ticketId}/comments`, { params: { order: "desc", limit: 20 } });
+            setComments([...(res.data.items || [])].reverse());
+            setOlderCursor(res.data.nextCursor);
         } catch (err) {
             console.error("Yorum hatası:", err);
             setComments([]);
+            setOlderCursor(null);
+        }
+    };
+
+    // API: Daha eski yorumları listenin başına ekle
+    const fetchOlderComments = async () => {
+        if (!olderCursor) return;
+        try {
+            const res = await api.get(`/tickets/${currentTicket.id}/comments`, { params: { order: "desc", limit: 20, cursor: olderCursor } });
+            setComments(prev => [...[...res.data.items].reverse(), ...prev]);
+            setOlderCursor(res.data.nextCursor);
+        } catch (err) {
+            toast.error("Eski yorumlar yüklenemedi.");
         }
     };
 
@@ -132,6 +147,11 @@ const EditTicketModal = ({ editingTicket, setEditingTicket, users, onUpdateSucce
                     <h4 className="section-title">💬 Yorumlar</h4>
 
                     <div className="comment-list">
+                        {olderCursor && (
+                            <button className="btn-secondary load-more-btn" onClick={fetchOlderComments}>
+                                Daha eski yorumlar
+                            </button>
+                        )}
                         {comments.length === 0 ? (
                             <p style={{textAlign:'center', color:'var(--text-secondary)', fontSize:'0.85rem', fontStyle:'italic'}}>Henüz yorum yok.</p>
                         ) : (
@@ -2,11 +2,11 @@ import React from 'react';
 import { Droppable } from "@hello-pangea/dnd";
 import TicketCard from "./TicketCard";
 
-const KanbanColumn = ({ columnId, title, tickets, onTicketClick, onTicketDelete }) => {
+const KanbanColumn = ({ columnId, title, tickets, count, hasMore, onLoadMore, onTicketClick, onTicketDelete }) => {
     return (
         <div className="kanban-column">
             <h3 className="column-header">
-                {title} <span className="ticket-count">{tickets.length}</span>
+                {title} <span className="ticket-count">{count ?? tickets.length}</span>
             </h3>
 
             <Droppable droppableId={columnId}>
@@ -33,6 +33,12 @@ const KanbanColumn = ({ columnId, title, tickets, onTicketClick, onTicketDelete
                     </div>
                 )}
             </Droppable>
+
+            {hasMore && (
+                <button className="btn-secondary load-more-btn" onClick={onLoadMore}>
+                    Daha fazla göster
+                </button>
+            )}
         </div>
     );
 };
@@ -5,6 +5,7 @@ import { DragDropContext } from "@hello-pangea/dnd";
 
 // Hook & Utils
 import useProjectBoard from "../hooks/useProjectBoard";
+import { logout } from "../services/api";
 import useTheme from "../hooks/useTheme";
 import { ROLES } from "../utils/constants";
 
@@ -22,18 +23,20 @@ function ProjectBoard() {
 
     // Logic extracted to custom hook (Bölüm 3 & 10)
     const {
-        projectId, projectName, users, tickets, loading,
-        handleDragEnd, handleDeleteTicket, refreshBoard
+        projectId, projectName, users, columns: boardColumns, loading,
+        handleDragEnd, handleDeleteTicket, loadMoreColumn, refreshBoard
     } = useProjectBoard();
 
     // Local UI State (Sadece modal ve form için gerekli basit state'ler burada kalabilir)
     const [editingTicket, setEditingTicket] = useState(null);
 
     // Columns Definition (Bölüm 6: Veri Yapıları)
+    // Gruplama sunucuda yapılıyor; burada sadece başlıklar var
+    const emptyColumn = { count: 0, items: [], nextCursor: null };
     const columns = {
-        OPEN: { title: "📌 Yapılacaklar", items: tickets.filter(t => t.status === 'OPEN') },
-        IN_PROGRESS: { title: "🚀 Sürüyor", items: tickets.filter(t => t.status === 'IN_PROGRESS') },
-        DONE: { title: "✅ Tamamlandı", items: tickets.filter(t => t.status === 'DONE') }
+        OPEN: { title: "📌 Yapılacaklar", ...(boardColumns.OPEN || emptyColumn) },
+        IN_PROGRESS: { title: "🚀 Sürüyor", ...(boardColumns.IN_PROGRESS || emptyColumn) },
+        DONE: { title: "✅ Tamamlandı", ...(boardColumns.DONE || emptyColumn) }
     };
 
     // Yükleniyor durumu
@@ -53,7 +56,7 @@ function ProjectBoard() {
                             {darkMode ? '☀️' : '🌙'}
                         </button>
                         <button
-                            onClick={() => { localStorage.removeItem("token"); window.location.href = "/"; }}
+                            onClick={logout}
                             className="btn-logout"
                         >
                             Çıkış
@@ -78,6 +81,9 @@ function ProjectBoard() {
                                 columnId={columnId}
                                 title={columnData.title}
                                 tickets={columnData.items}
+                                count={columnData.count}
+                                hasMore={!!columnData.nextCursor}
+                                onLoadMore={() => loadMoreColumn(columnId)}
                                 onTicketClick={setEditingTicket}
                                 onTicketDelete={handleDeleteTicket}
                             />
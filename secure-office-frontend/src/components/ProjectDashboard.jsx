@@ -3,6 +3,7 @@ import { useNavigate } from "react-router-dom";
 import ProjectService from "../services/project.service";
 import UserService from "../services/user.service";
 import { toast } from 'react-toastify';
+import { logout } from "../services/api";
 import useTheme from "../hooks/useTheme";
 import { ROLES } from "../utils/constants"; // <--- SABİTLER EKLENDİ
 import "./ProjectDashboard.css";
@@ -106,7 +107,7 @@ const ProjectDashboard = () => {
                             {darkMode ? '☀️' : '🌙'}
                         </button>
                         {currentUser && <span style={{fontSize:'14px', color:'var(--text-secondary)'}}><b>{currentUser.firstName}</b></span>}
-                        <button onClick={() => { localStorage.removeItem("token"); window.location.href = "/"; }} className="btn-logout">Çıkış</button>
+                        <button onClick={logout} className="btn-logout">Çıkış</button>
                     </div>
                 </div>
             </div>
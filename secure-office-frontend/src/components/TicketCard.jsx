@@ -24,6 +24,12 @@ const TicketCard = ({ ticket, index, onClick, onDelete }) => {
                     <strong className="ticket-title">{ticket.title}</strong>
                     <span className="ticket-desc">{ticket.description}</span>
 
+                    {ticket.commentCount > 0 && (
+                        <span className="ticket-comments" title={ticket.lastCommentAt ? new Date(ticket.lastCommentAt).toLocaleString('tr-TR') : undefined}>
+                            💬 {ticket.commentCount}
+                        </span>
+                    )}
+
                     {ticket.assignedTo && (
                         <div className="ticket-avatar" title={ticket.assignedTo.firstName}>
                             {ticket.assignedTo.firstName.charAt(0)}
@@ -1,30 +1,64 @@
-import { useState, useEffect } from "react";
+import { useState, useEffect, useCallback } from "react";
 import { useParams } from "react-router-dom";
 import { toast } from 'react-toastify';
 import TicketService from "../services/ticket.service";
 import ProjectService from "../services/project.service";
 import UserService from "../services/user.service";
+import EventService from "../services/events.service";
+
+// Board cevabındaki kolon listesini { OPEN: { count, items, nextCursor }, ... } haline getir
+const toColumnMap = (columns) =>
+    columns.reduce((acc, col) => {
+        acc[col.status] = { count: col.count, items: col.items, nextCursor: col.nextCursor };
+        return acc;
+    }, {});
+
+// Kartı bulunduğu kolondan çıkarıp (varsa) durumuna göre yeni kolonun başına koy
+const upsertCard = (columns, ticket) => {
+    const next = {};
+    let existed = false;
+    for (const [status, col] of Object.entries(columns)) {
+        const items = col.items.filter(t => t.id !== ticket.id);
+        const removed = items.length !== col.items.length;
+        existed = existed || removed;
+        next[status] = removed ? { ...col, items, count: col.count - 1 } : col;
+    }
+    const target = next[ticket.status];
+    if (target) {
+        next[ticket.status] = { ...target, items: [ticket, ...target.items], count: target.count + 1 };
+    }
+    return next;
+};
+
+const removeCard = (columns, ticketId) =>
+    Object.fromEntries(Object.entries(columns).map(([status, col]) => {
+        const items = col.items.filter(t => t.id !== ticketId);
+        return [status, { ...col, items, count: col.count - (col.items.length - items.length) }];
+    }));
 
 const useProjectBoard = () => {
     const { id: projectId } = useParams();
 
-    const [tickets, setTickets] = useState([]);
+    const [columns, setColumns] = useState({});
     const [users, setUsers] = useState([]);
     const [projectName, setProjectName] = useState("Yükleniyor...");
     const [loading, setLoading] = useState(true);
 
+    const loadBoard = useCallback(async () => {
+        const res = await ProjectService.getBoard(projectId);
+        setProjectName(res.data.name);
+        setColumns(toColumnMap(res.data.columns));
+    }, [projectId]);
+
     useEffect(() => {
         const loadBoardData = async () => {
             try {
-                const [projectRes, usersRes, ticketsRes] = await Promise.all([
-                    ProjectService.getProjectById(projectId),
-                    UserService.getAllUsers(),
-                    TicketService.getTicketsByProject(projectId)
+                // Atama listesi için tüm kullanıcılar gerekli; board kendi içinde proje + kolonları getirir
+                const [, usersRes] = await Promise.all([
+                    loadBoard(),
+                    UserService.getAllUsers()
                 ]);
-
-                setProjectName(projectRes.data.name);
                 setUsers(usersRes.data);
-                setTickets(ticketsRes.data);
             } catch (error) {
                 console.error("Board verisi yüklenirken hata:", error);
                 toast.error("Proje verileri yüklenemedi.");
@@ -34,7 +68,38 @@ const useProjectBoard = () => {
         };
 
         loadBoardData();
-    }, [projectId]);
+    }, [loadBoard]);
+
+    // Diğer kullanıcıların değişiklikleri (SSE): gövdeli olaylar yerinde uygulanır, gövdesizlerde board tazelenir
+    useEffect(() => {
+        const refresh = () => loadBoard().catch(() => {});
+        return EventService.subscribeProjectEvents(projectId, (type, event) => {
+            switch (type) {
+                case "TICKET_CREATED":
+                case "TICKET_UPDATED":
+                case "STATUS_CHANGED":
+                    if (event.ticket) setColumns(prev => upsertCard(prev, event.ticket));
+                    else refresh();
+                    break;
+                case "TICKET_DELETED":
+                    setColumns(prev => removeCard(prev, event.ticketId));
+                    break;
+                case "COMMENT_ADDED":
+                    setColumns(prev => Object.fromEntries(Object.entries(prev).map(([status, col]) => [status, {
+                        ...col,
+                        items: col.items.map(t => t.id === event.ticketId
+                            ? { ...t, commentCount: (t.commentCount || 0) + 1, lastCommentAt: event.occurredAt }
+                            : t)
+                    }])));
+                    break;
+                case "RESYNC":
+                    refresh();
+                    break;
+                default:
+                    break;
+            }
+        });
+    }, [projectId, loadBoard]);
 
     const handleDragEnd = async (result) => {
         const { destination, source, draggableId } = result;
@@ -42,15 +107,22 @@ const useProjectBoard = () => {
         if (!destination) return;
         if (destination.droppableId === source.droppableId && destination.index === source.index) return;
 
-        const updatedTickets = tickets.map(ticket =>
-            ticket.id.toString() === draggableId
-                ? { ...ticket, status: destination.droppableId }
-                : ticket
-        );
-        setTickets(updatedTickets);
+        const from = source.droppableId;
+        const to = destination.droppableId;
+        const moved = columns[from].items.find(t => t.id.toString() === draggableId);
+        if (!moved) return;
+
+        setColumns(prev => {
+            if (from === to) return prev;
+            return {
+                ...prev,
+                [from]: { ...prev[from], count: prev[from].count - 1, items: prev[from].items.filter(t => t !== moved) },
+                [to]: { ...prev[to], count: prev[to].count + 1, items: [{ ...moved, status: to }, ...prev[to].items] }
+            };
+        });
 
         try {
-            await TicketService.updateTicketStatus(draggableId, destination.droppableId);
+            await TicketService.updateTicketStatus(draggableId, to);
         } catch (error) {
             toast.error("Taşıma işlemi sunucuda başarısız oldu!");
             // Hata durumunda eski state geri yüklenebilir (opsiyonel)
@@ -62,28 +134,43 @@ const useProjectBoard = () => {
 
         try {
             await TicketService.deleteTicket(ticketId);
-            setTickets(prev => prev.filter(t => t.id !== ticketId));
+            setColumns(prev => removeCard(prev, ticketId));
             toast.info("Görev silindi");
         } catch (error) {
             toast.error("Silme işlemi başarısız");
         }
     };
 
+    // Kolonun kalan kartlarını cursor ile ekle
+    const loadMoreColumn = async (status) => {
+        const col = columns[status];
+        if (!col || !col.nextCursor) return;
+        try {
+            const res = await ProjectService.getBoardColumn(projectId, status, col.nextCursor);
+            setColumns(prev => ({
+                ...prev,
+                [status]: { ...prev[status], items: [...prev[status].items, ...res.data.items], nextCursor: res.data.nextCursor }
+            }));
+        } catch (error) {
+            toast.error("Kartlar yüklenemedi");
+        }
+    };
+
     const refreshBoard = () => {
-        TicketService.getTicketsByProject(projectId)
-            .then(res => setTickets(res.data));
+        loadBoard().catch(() => toast.error("Proje verileri yüklenemedi."));
     };
 
     return {
         projectId,
         projectName,
         users,
-        tickets,
+        columns,
         loading,
         handleDragEnd,
         handleDeleteTicket,
+        loadMoreColumn,
         refreshBoard
     };
 };
 
-export default useProjectBoard;
\ No newline at end of file
+export default useProjectBoard;
@@ -6,8 +6,16 @@ const api = axios.create({
     headers: {
         "Content-Type": "application/json",
     },
+    // 304 hata değil: ETag önbelleğinden cevaplanır
+    validateStatus: (status) => (status >= 200 && status < 300) || status === 304,
 });
 
+// ETag önbelleği: aynı GET tekrarlandığında If-None-Match gönderilir, 304 gelirse son gövde kullanılır.
+// (Tarayıcı önbelleği no-store yüzünden devrede değil, bu yüzden elle tutuyoruz.)
+const ETAG_CACHE_LIMIT = 200;
+const etagCache = new Map();
+const cacheKey = (config) => api.getUri(config);
+
 // 2. Request Interceptor (İstek Atılmadan Önce Araya Gir)
 api.interceptors.request.use(
     (config) => {
@@ -19,6 +27,11 @@ api.interceptors.request.use(
             config.headers.Authorization = `Bearer ${token}`;
         }
 
+        if ((config.method || "get").toLowerCase() === "get") {
+            const cached = etagCache.get(cacheKey(config));
+            if (cached) config.headers["If-None-Match"] = cached.etag;
+        }
+
         return config;
     },
     (error) => {
@@ -29,16 +42,82 @@ api.interceptors.request.use(
 // 3. Response Interceptor (Cevap Geldikten Sonra Araya Gir - Opsiyonel)
 // Örneğin: Token süresi dolmuşsa (401 hatası), kullanıcıyı otomatik log-out yapabiliriz.
 api.interceptors.response.use(
-    (response) => response,
-    (error) => {
+    (response) => {
+        if ((response.config.method || "get").toLowerCase() !== "get") return response;
+        const key = cacheKey(response.config);
+        if (response.status === 304) {
+            const cached = etagCache.get(key);
+            return cached ? { ...response, status: 200, data: cached.data } : response;
+        }
+        const etag = response.headers["etag"];
+        if (etag) {
+            etagCache.delete(key); // Map ekleme sırasını tazele (en eski önce silinir)
+            etagCache.set(key, { etag, data: response.data });
+            if (etagCache.size > ETAG_CACHE_LIMIT) etagCache.delete(etagCache.keys().next().value);
+        }
+        return response;
+    },
+    async (error) => {
+        const original = error.config;
+        // Access token süresi dolduysa bir kez refresh token ile yenileyip isteği tekrarla
+        if (error.response && error.response.status === 401 && original && !original._retried
+                && !original.url?.startsWith("/auth/")) {
+            original._retried = true;
+            try {
+                const token = await refreshAccessToken();
+                original.headers.Authorization = `Bearer ${token}`;
+                return api(original);
+            } catch {
+                // Refresh token da geçersiz: aşağıda çıkış yapılır
+            }
+        }
         if (error.response && error.response.status === 401) {
             // Token geçersizse veya süresi dolmuşsa
             console.warn("Oturum süresi doldu, çıkış yapılıyor...");
-            localStorage.removeItem("token");
+            clearTokens();
             window.location.href = "/"; // Login'e at
         }
         return Promise.reject(error);
     }
 );
 
-export default api;
\ No newline at end of file
+// Giriş/kayıt cevabındaki token'ları sakla
+export const saveTokens = ({ accessToken, refreshToken }) => {
+    if (accessToken) localStorage.setItem("token", accessToken);
+    if (refreshToken) localStorage.setItem("refreshToken", refreshToken);
+};
+
+const clearTokens = () => {
+    localStorage.removeItem("token");
+    localStorage.removeItem("refreshToken");
+};
+
+// Aynı anda 401 alan istekler tek refresh çağrısını bekler (refresh token tek kullanımlık)
+let refreshing = null;
+export const refreshAccessToken = () => {
+    if (!refreshing) {
+        const refreshToken = localStorage.getItem("refreshToken");
+        refreshing = (refreshToken
+            ? axios.post(`${api.defaults.baseURL}/auth/refresh`, { refreshToken })
+                .then((res) => {
+                    saveTokens(res.data);
+                    return res.data.accessToken;
+                })
+            : Promise.reject(new Error("Refresh token yok")))
+            .finally(() => { refreshing = null; });
+    }
+    return refreshing;
+};
+
+// Sunucuda da iptal: access token ve refresh token ailesi hemen geçersiz olur
+export const logout = async () => {
+    try {
+        await api.post("/auth/logout", { refreshToken: localStorage.getItem("refreshToken") });
+    } catch {
+        // Sunucuya ulaşılamasa da yerelde çıkış yapılır
+    }
+    clearTokens();
+    window.location.href = "/";
+};
+
+export default api;
@@ -0,0 +1,78 @@
+import api, { refreshAccessToken } from "./api";
+
+// EventSource Authorization header gönderemediği için SSE akışını fetch ile okuyoruz.
+// Bağlantı koparsa Last-Event-ID ile yeniden bağlanır; sunucu kaçırılan olayları (veya RESYNC) gönderir.
+const RETRY_MS = 3000;
+
+const parseFrame = (frame) => {
+    const event = { id: null, name: "message", data: "" };
+    for (const line of frame.split("\n")) {
+        if (line.startsWith(":")) continue; // yorum / heartbeat
+        const idx = line.indexOf(":");
+        const field = idx === -1 ? line : line.slice(0, idx);
+        const value = idx === -1 ? "" : line.slice(idx + 1).replace(/^ /, "");
+        if (field === "id") event.id = value;
+        else if (field === "event") event.name = value;
+        else if (field === "data") event.data += (event.data ? "\n" : "") + value;
+    }
+    return event;
+};
+
+const subscribeProjectEvents = (projectId, onEvent) => {
+    const controller = new AbortController();
+    let lastEventId = null;
+    let stopped = false;
+
+    const connect = async () => {
+        while (!stopped) {
+            try {
+                const headers = { Accept: "text/event-stream" };
+                const token = localStorage.getItem("token");
+                if (token) headers.Authorization = `Bearer ${token}`;
+                if (lastEventId) headers["Last-Event-ID"] = lastEventId;
+
+                const res = await fetch(`${api.defaults.baseURL}/projects/${projectId}/events`, {
+                    headers,
+                    signal: controller.signal,
+                });
+                // Access token süresi dolduysa yenileyip hemen tekrar bağlan
+                if (res.status === 401) {
+                    await refreshAccessToken();
+                    continue;
+                }
+                if (!res.ok) throw new Error("SSE " + res.status);
+
+                const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = "";
+                for (;;) {
+                    const { value, done } = await reader.read();
+                    if (done) break;
+                    buffer += value.replace(/\r\n/g, "\n");
+                    let sep;
+                    while ((sep = buffer.indexOf("\n\n")) !== -1) {
+                        const event = parseFrame(buffer.slice(0, sep));
+                        buffer = buffer.slice(sep + 2);
+                        if (event.id) lastEventId = event.id;
+                        if (event.data) onEvent(event.name, JSON.parse(event.data));
+                    }
+                }
+            } catch (err) {
+                if (stopped) return;
+                console.warn("Olay akışı koptu, yeniden bağlanılacak:", err.message);
+            }
+            if (!stopped) await new Promise(resolve => setTimeout(resolve, RETRY_MS));
+        }
+    };
+
+    connect();
+    return () => {
+        stopped = true;
+        controller.abort();
+    };
+};
+
+const EventService = {
+    subscribeProjectEvents,
+};
+
+export default EventService;
@@ -10,6 +10,16 @@ const getProjectById = (id) => {
     return api.get(PROJECT_URL + "/" + id);
 };
 
+// Kanban: proje + durum kolonları (her kolonda ilk N kart) + kullanıcılar tek istekte
+const getBoard = (id, perColumn) => {
+    return api.get(PROJECT_URL + "/" + id + "/board", { params: { perColumn } });
+};
+
+// Bir kolonun devamı (kolondaki nextCursor ile)
+const getBoardColumn = (id, status, cursor, limit) => {
+    return api.get(PROJECT_URL + "/" + id + "/board/columns/" + status, { params: { cursor, limit } });
+};
+
 const createProject = (projectData) => {
     return api.post(PROJECT_URL, projectData);
 };
@@ -21,6 +31,8 @@ const deleteProject = (id) => {
 const ProjectService = {
     getAllProjects,
     getProjectById,
+    getBoard,
+    getBoardColumn,
     createProject,
     deleteProject,
 };
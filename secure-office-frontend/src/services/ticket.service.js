@@ -2,14 +2,31 @@ import api from "./api";
 
 const TICKET_URL = "/tickets";
 
-// 1. Tüm Ticketları Getir
-const getAllTickets = () => {
-    return api.get(TICKET_URL);
+// 1. Tüm Ticketları Getir (sayfalı: { items, nextCursor })
+const getAllTickets = (cursor, limit) => {
+    return api.get(TICKET_URL, { params: { cursor, limit } });
 };
 
-// 2. Sadece bir projeye ait ticketları getir
-const getTicketsByProject = (projectId) => {
-    return api.get(TICKET_URL + "/project/" + projectId);
+// 1b. Oluşturduğum veya bana atanan ticketlar (sayfalı: { items, nextCursor })
+const getMyTickets = (cursor, limit) => {
+    return api.get(TICKET_URL + "/mine", { params: { cursor, limit } });
+};
+
+// 2. Sadece bir projeye ait ticketları getir (sayfalı: { items, nextCursor })
+const getTicketsByProject = (projectId, cursor, limit) => {
+    return api.get(TICKET_URL + "/project/" + projectId, { params: { cursor, limit } });
+};
+
+// 2b. Projenin bütün sayfalarını sırayla çekip tek listede birleştir
+const getAllTicketsByProject = async (projectId) => {
+    const all = [];
+    let cursor;
+    do {
+        const res = await getTicketsByProject(projectId, cursor, 200);
+        all.push(...res.data.items);
+        cursor = res.data.nextCursor;
+    } while (cursor);
+    return all;
 };
 
 // 3. Ticket Oluştur
@@ -29,7 +46,9 @@ const deleteTicket = (id) => {
 
 const TicketService = {
     getAllTickets,
+    getMyTickets,
     getTicketsByProject,
+    getAllTicketsByProject,
     createTicket,
     updateTicketStatus,
     deleteTicket